@@ -0,0 +1,67 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.params.provider.Arguments;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of extracting arguments out of a single input line - the hot path of every formatted test.
+ * Both the default {@link LineMatcher} and the regex-based one are measured for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentsExtractorBenchmark {
+
+    @Param({"1", "4", "16"})
+    int placeholderCount;
+
+    @Param({"1", "32"})
+    int literalLength;
+
+    @Param({"false", "true"})
+    boolean quoted;
+
+    @Param({"false", "true"})
+    boolean ignoreWhitespace;
+
+    private String line;
+    private ArgumentsExtractor extractor;
+    private ArgumentsExtractor regexExtractor;
+
+    @Setup
+    public void setUp() {
+        String format = FormatShapes.indexedFormat(placeholderCount, literalLength);
+        line = FormatShapes.line(placeholderCount, literalLength, quoted, ignoreWhitespace);
+
+        var sourceData = new FormattedSourceData(
+                format, new String[]{line}, "", '\'', "", ignoreWhitespace, Set.of(), ""
+        );
+        FormatSpecification specification = new IndexedArgumentPlaceholdersFormatAnalyzer()
+                .analyze(format, placeholderCount);
+        var regexSpecification = new FormatSpecification(
+                specification.getPattern(),
+                specification.getArgumentsOrder(),
+                new RegexLineMatcher(specification.getPattern(), specification.getArgumentsOrder())
+        );
+
+        extractor = new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+        regexExtractor = new ArgumentsExtractor(sourceData, regexSpecification, RawArgumentsProcessor.passThrough());
+    }
+
+    @Benchmark
+    public Arguments extract() {
+        return extractor.extract(line);
+    }
+
+    @Benchmark
+    public Arguments extractUsingRegex() {
+        return regexExtractor.extract(line);
+    }
+
+}
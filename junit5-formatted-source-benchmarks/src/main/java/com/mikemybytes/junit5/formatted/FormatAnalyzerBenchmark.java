@@ -0,0 +1,48 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of analyzing the format string (including the creation of the line pattern).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatAnalyzerBenchmark {
+
+    @Param({"1", "4", "16"})
+    int placeholderCount;
+
+    @Param({"1", "32"})
+    int literalLength;
+
+    private final IndexedArgumentPlaceholdersFormatAnalyzer indexedAnalyzer =
+            new IndexedArgumentPlaceholdersFormatAnalyzer();
+    private final PositionalArgumentPlaceholdersFormatAnalyzer positionalAnalyzer =
+            new PositionalArgumentPlaceholdersFormatAnalyzer(FormatShapes.POSITIONAL_PLACEHOLDER);
+
+    private String indexedFormat;
+    private String positionalFormat;
+
+    @Setup
+    public void setUp() {
+        indexedFormat = FormatShapes.indexedFormat(placeholderCount, literalLength);
+        positionalFormat = FormatShapes.positionalFormat(placeholderCount, literalLength);
+    }
+
+    @Benchmark
+    public FormatSpecification indexedAnalyze() {
+        return indexedAnalyzer.analyze(indexedFormat, placeholderCount);
+    }
+
+    @Benchmark
+    public FormatSpecification positionalAnalyze() {
+        return positionalAnalyzer.analyze(positionalFormat, placeholderCount);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates formats (and matching input lines) of different shapes, so the benchmarks could measure how the number
+ * of placeholders, the length of the literals, quoting and whitespaces affect the performance.
+ */
+final class FormatShapes {
+
+    static final String POSITIONAL_PLACEHOLDER = "?";
+
+    private FormatShapes() {
+        // static only
+    }
+
+    static String indexedFormat(int placeholderCount, int literalLength) {
+        return IntStream.range(0, placeholderCount)
+                .mapToObj(i -> "{" + i + "}")
+                .collect(Collectors.joining(literal(literalLength)));
+    }
+
+    static String positionalFormat(int placeholderCount, int literalLength) {
+        return IntStream.range(0, placeholderCount)
+                .mapToObj(i -> POSITIONAL_PLACEHOLDER)
+                .collect(Collectors.joining(literal(literalLength)));
+    }
+
+    static String line(int placeholderCount, int literalLength, boolean quoted, boolean padded) {
+        return IntStream.range(0, placeholderCount)
+                .mapToObj(i -> value(i, quoted, padded))
+                .collect(Collectors.joining(literal(literalLength)));
+    }
+
+    private static String literal(int literalLength) {
+        return " " + "=".repeat(literalLength) + " ";
+    }
+
+    private static String value(int index, boolean quoted, boolean padded) {
+        String value = "value" + index;
+        if (quoted) {
+            value = "'" + value + "'";
+        }
+        if (padded) {
+            value = "   " + value + "   ";
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the cost of tokenizing the format string and compiling the line pattern.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinePatternFactoryBenchmark {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(\\d+)}");
+
+    @Param({"1", "4", "16"})
+    int placeholderCount;
+
+    @Param({"1", "32"})
+    int literalLength;
+
+    private String format;
+    private List<MatchResult> placeholders;
+    private List<Integer> argumentsOrder;
+
+    @Setup
+    public void setUp() {
+        format = FormatShapes.indexedFormat(placeholderCount, literalLength);
+        placeholders = PLACEHOLDER_PATTERN.matcher(format).results().collect(Collectors.toList());
+        argumentsOrder = IntStream.range(0, placeholderCount).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Pattern create() {
+        List<String> textParts = LinePatternFactory.tokenize(format, placeholders);
+        return LinePatternFactory.create(textParts, argumentsOrder);
+    }
+
+}
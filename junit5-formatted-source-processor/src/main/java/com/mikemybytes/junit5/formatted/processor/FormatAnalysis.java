@@ -0,0 +1,171 @@
+package com.mikemybytes.junit5.formatted.processor;
+
+import com.mikemybytes.junit5.formatted.spi.FormatRules;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compile-time counterpart of the runtime format analysis (see {@code FormatAnalyzers}). Splits the format string into
+ * its literal parts and determines the order of arguments, applying exactly the same validation rules. Supported types
+ * and ambiguities come from {@link FormatRules}, shared with the runtime.
+ */
+final class FormatAnalysis {
+
+    private static final Pattern indexedPlaceholderPattern = Pattern.compile("\\{(\\d+)(?::(\\w+))?}");
+
+    private final String format;
+    private final String argumentPlaceholder;
+    private final List<String> literals;
+    private final List<Integer> argumentsOrder;
+    private final boolean typed;
+    private final List<String> ambiguities;
+
+    private FormatAnalysis(
+            String format,
+            String argumentPlaceholder,
+            List<String> literals,
+            List<Integer> order,
+            boolean typed,
+            List<String> ambiguities) {
+        this.format = format;
+        this.argumentPlaceholder = argumentPlaceholder;
+        this.literals = literals;
+        this.argumentsOrder = order;
+        this.typed = typed;
+        this.ambiguities = ambiguities;
+    }
+
+    /**
+     * Analyzes the given format string.
+     *
+     * @param format               Format string as defined in one of the annotations.
+     * @param argumentPlaceholder  Fixed argument placeholder or a blank string for the indexed placeholders.
+     * @param methodParameterCount Number of the test method parameters.
+     * @throws IllegalArgumentException when the format is not valid for the given method
+     */
+    static FormatAnalysis analyze(String format, String argumentPlaceholder, int methodParameterCount) {
+        boolean indexed = argumentPlaceholder.isBlank();
+        Pattern placeholderPattern = indexed
+                ? indexedPlaceholderPattern
+                : Pattern.compile(Pattern.quote(argumentPlaceholder)
+                        + "(?::(" + String.join("|", FormatRules.typeNames()) + ")(?!\\w))?");
+        List<MatchResult> placeholders = placeholderPattern.matcher(format)
+                .results()
+                .collect(Collectors.toList());
+
+        require(
+                methodParameterCount >= placeholders.size(),
+                "Number of method arguments is less than the number of format arguments"
+        );
+
+        List<Integer> argumentsOrder = indexed
+                ? indexedArgumentsOrder(placeholders)
+                : IntStream.range(0, placeholders.size()).boxed().collect(Collectors.toList());
+
+        int typeGroup = indexed ? 2 : 1;
+        boolean typed = false;
+        List<String> typeNames = new ArrayList<>();
+        for (MatchResult placeholder : placeholders) {
+            String typeName = placeholder.group(typeGroup);
+            typeNames.add(typeName == null ? FormatRules.UNTYPED : typeName);
+            if (typeName != null) {
+                require(
+                        FormatRules.typeNames().contains(typeName),
+                        "Unsupported argument type: " + typeName
+                                + " (supported types: " + String.join(", ", FormatRules.typeNames()) + ")"
+                );
+                typed = true;
+            }
+        }
+
+        List<String> literals = tokenize(format, placeholders);
+        return new FormatAnalysis(
+                format,
+                indexed ? "" : argumentPlaceholder,
+                literals,
+                argumentsOrder,
+                typed,
+                FormatRules.findAmbiguities(literals, argumentsOrder, typeNames)
+        );
+    }
+
+    private static List<Integer> indexedArgumentsOrder(List<MatchResult> placeholders) {
+        List<Integer> templateArguments = new ArrayList<>();
+        for (MatchResult placeholder : placeholders) {
+            try {
+                templateArguments.add(Integer.valueOf(placeholder.group(1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid argument index: " + placeholder.group(1), e);
+            }
+        }
+
+        List<Integer> expectedIndexes = IntStream.range(0, templateArguments.size())
+                .boxed()
+                .collect(Collectors.toList());
+        boolean validArguments = new HashSet<>(templateArguments).containsAll(expectedIndexes);
+        require(
+                validArguments,
+                "Arguments provided in the format string are invalid: expected " + expectedIndexes
+                        + " but got " + templateArguments.stream().sorted().collect(Collectors.toList())
+        );
+        return templateArguments;
+    }
+
+    private static List<String> tokenize(String format, List<MatchResult> placeholders) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        for (MatchResult placeholder : placeholders) {
+            literals.add(format.substring(start, placeholder.start()));
+            start = placeholder.end();
+        }
+        literals.add(format.substring(start));
+        return literals;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    String getFormat() {
+        return format;
+    }
+
+    String getArgumentPlaceholder() {
+        return argumentPlaceholder;
+    }
+
+    /**
+     * Literal parts of the format - always one more than the number of arguments (some of them might be empty).
+     */
+    List<String> getLiterals() {
+        return literals;
+    }
+
+    List<Integer> getArgumentsOrder() {
+        return argumentsOrder;
+    }
+
+    /**
+     * Whether any of the placeholders defines the type of its values (e.g. {@code {0:int}}). Typed values have to be
+     * matched with regular expressions, so such formats are only validated.
+     */
+    boolean isTyped() {
+        return typed;
+    }
+
+    /**
+     * Descriptions of the format parts, where the boundaries between argument values depend on the values themselves.
+     */
+    List<String> getAmbiguities() {
+        return ambiguities;
+    }
+
+}
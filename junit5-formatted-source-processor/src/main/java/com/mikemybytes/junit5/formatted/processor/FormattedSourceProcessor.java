@@ -0,0 +1,257 @@
+package com.mikemybytes.junit5.formatted.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor validating the formats of {@code @FormattedSource}, {@code @FormattedSourceTest} and
+ * {@code @FormattedFileSource} annotations at compile time. Invalid formats (e.g. using more arguments than the
+ * annotated method accepts) are reported as compilation errors.
+ *
+ * <p>Formats of each test class are also being precompiled into a generated {@code PrecompiledFormats}
+ * implementation, named after the test class (nested class names separated with {@code _}) with the
+ * {@code _FormattedSourceFormats} suffix. The library picks it up automatically, so the format does not have to be
+ * analyzed while running the tests.</p>
+ *
+ * <p>Methods omitting the format use the one declared with {@code @FormattedSourceFormat}, looked up exactly like at
+ * runtime: on the class declaring the method, its enclosing classes and finally its package.</p>
+ */
+@SupportedAnnotationTypes({
+        FormattedSourceProcessor.FORMATTED_SOURCE,
+        FormattedSourceProcessor.FORMATTED_SOURCE_TEST,
+        FormattedSourceProcessor.FORMATTED_FILE_SOURCE
+})
+public class FormattedSourceProcessor extends AbstractProcessor {
+
+    static final String FORMATTED_SOURCE = "com.mikemybytes.junit5.formatted.FormattedSource";
+    static final String FORMATTED_SOURCE_TEST = "com.mikemybytes.junit5.formatted.FormattedSourceTest";
+    static final String FORMATTED_FILE_SOURCE = "com.mikemybytes.junit5.formatted.FormattedFileSource";
+    static final String FORMATTED_SOURCE_FORMAT = "com.mikemybytes.junit5.formatted.FormattedSourceFormat";
+
+    static final String GENERATED_CLASS_NAME_SUFFIX = "_FormattedSourceFormats";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<FormatAnalysis>> formatsByClass = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                var method = (ExecutableElement) element;
+                AnnotationMirror mirror = findAnnotationMirror(method, annotation);
+                FormatAnalysis format = analyze(method, mirror);
+                var testClass = (TypeElement) method.getEnclosingElement();
+                if (format != null && !format.isTyped() && !hasAlternativeFormats(mirror) && isNamed(testClass)) {
+                    List<FormatAnalysis> formats = formatsByClass.computeIfAbsent(testClass, c -> new ArrayList<>());
+                    if (formats.stream().noneMatch(f -> isSameFormat(f, format))) {
+                        formats.add(format);
+                    }
+                }
+            }
+        }
+        formatsByClass.forEach(this::generate);
+        // other processors might be interested in the same annotations
+        return false;
+    }
+
+    /**
+     * Alternative formats are analyzed only at runtime, so such formats are only validated.
+     */
+    private boolean hasAlternativeFormats(AnnotationMirror mirror) {
+        AnnotationValue alternativeFormats = attribute(
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror),
+                "alternativeFormats"
+        );
+        return alternativeFormats != null && !((List<?>) alternativeFormats.getValue()).isEmpty();
+    }
+
+    /**
+     * Local and anonymous classes cannot be referred by name, so their formats are only validated.
+     */
+    private static boolean isNamed(TypeElement testClass) {
+        Element current = testClass;
+        while (current instanceof TypeElement) {
+            NestingKind nestingKind = ((TypeElement) current).getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static AnnotationMirror findAnnotationMirror(Element element, TypeElement annotation) {
+        return element.getAnnotationMirrors().stream()
+                .filter(mirror -> mirror.getAnnotationType().asElement().equals(annotation))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private FormatAnalysis analyze(ExecutableElement method, AnnotationMirror mirror) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(mirror);
+        AnnotationValue format = attribute(values, "format");
+        AnnotationValue argumentPlaceholder = attribute(values, "argumentPlaceholder");
+        if (format == null || argumentPlaceholder == null) {
+            return null; // incompatible annotation version - leaving it to the runtime
+        }
+
+        // tables are defined by their header rows, known only at runtime
+        AnnotationValue table = attribute(values, "table");
+        if (table != null && (Boolean) table.getValue()) {
+            return null;
+        }
+
+        // in the batch mode, all the arguments are delivered via a single parameter
+        AnnotationValue batchSize = attribute(values, "batchSize");
+        int parameterCount = batchSize != null && (Integer) batchSize.getValue() > 0
+                ? Integer.MAX_VALUE
+                : method.getParameters().size();
+
+        if (((String) format.getValue()).isEmpty()) {
+            AnnotationMirror declaration = findSharedFormat(method);
+            if (declaration == null) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Format must be defined either by the test method annotation or with @FormattedSourceFormat",
+                        method,
+                        mirror
+                );
+                return null;
+            }
+            values = processingEnv.getElementUtils().getElementValuesWithDefaults(declaration);
+            format = attribute(values, "format");
+            argumentPlaceholder = attribute(values, "argumentPlaceholder");
+            if (format == null || argumentPlaceholder == null) {
+                return null;
+            }
+        }
+
+        try {
+            FormatAnalysis analysis = FormatAnalysis.analyze(
+                    (String) format.getValue(),
+                    (String) argumentPlaceholder.getValue(),
+                    parameterCount
+            );
+            for (String ambiguity : analysis.getAmbiguities()) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.WARNING,
+                        "Ambiguous format: " + ambiguity,
+                        method,
+                        mirror,
+                        format
+                );
+            }
+            return analysis;
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Invalid format: " + e.getMessage(),
+                    method,
+                    mirror,
+                    format
+            );
+            return null;
+        }
+    }
+
+    /**
+     * Finds {@code @FormattedSourceFormat} declared on the enclosing classes or the package of the given method.
+     */
+    private static AnnotationMirror findSharedFormat(ExecutableElement method) {
+        Element current = method.getEnclosingElement();
+        while (current != null) {
+            for (AnnotationMirror mirror : current.getAnnotationMirrors()) {
+                var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+                if (annotationType.getQualifiedName().contentEquals(FORMATTED_SOURCE_FORMAT)) {
+                    return mirror;
+                }
+            }
+            if (current instanceof PackageElement) {
+                return null;
+            }
+            current = current.getEnclosingElement();
+        }
+        return null;
+    }
+
+    private static AnnotationValue attribute(
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values,
+            String name) {
+        return values.entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isSameFormat(FormatAnalysis first, FormatAnalysis second) {
+        return first.getFormat().equals(second.getFormat())
+                && first.getArgumentPlaceholder().equals(second.getArgumentPlaceholder());
+    }
+
+    private void generate(TypeElement testClass, List<FormatAnalysis> formats) {
+        String packageName = packageOf(testClass).getQualifiedName().toString();
+        String className = generatedClassName(testClass);
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, testClass);
+            try (Writer writer = file.openWriter()) {
+                new PrecompiledFormatsWriter(packageName, className, formats).write(writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Unable to generate " + qualifiedName + ": " + e.getMessage(),
+                    testClass
+            );
+        }
+    }
+
+    private static PackageElement packageOf(Element element) {
+        Element current = element;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private static String generatedClassName(TypeElement testClass) {
+        var name = new StringBuilder(GENERATED_CLASS_NAME_SUFFIX);
+        Element current = testClass;
+        while (current instanceof TypeElement) {
+            name.insert(0, current.getSimpleName());
+            current = current.getEnclosingElement();
+            if (current instanceof TypeElement) {
+                name.insert(0, '_');
+            }
+        }
+        return name.toString();
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.mikemybytes.junit5.formatted.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the source code of a {@code PrecompiledFormats} implementation containing one dedicated
+ * {@code PrecompiledFormat} class per analyzed format. The generated class exports its own package to the library
+ * module, so it could be instantiated reflectively also when the tests run as a named module.
+ *
+ * <p>The generated {@code match} methods unroll the literal-delimited matching performed at runtime: literal parts
+ * of the format are located from the last one to the first one with {@link String#lastIndexOf}, giving the same
+ * results as the regular expression with greedy {@code .*} groups.</p>
+ */
+final class PrecompiledFormatsWriter {
+
+    private static final String SPI_PACKAGE = "com.mikemybytes.junit5.formatted.spi";
+
+    private final String packageName;
+    private final String className;
+    private final List<FormatAnalysis> formats;
+
+    PrecompiledFormatsWriter(String packageName, String className, List<FormatAnalysis> formats) {
+        this.packageName = packageName;
+        this.className = className;
+        this.formats = formats;
+    }
+
+    void write(Writer writer) throws IOException {
+        var source = new StringBuilder();
+        source.append("// Generated by ").append(FormattedSourceProcessor.class.getName()).append(" - do not edit\n");
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(SPI_PACKAGE).append(".PrecompiledFormat;\n");
+        source.append("import ").append(SPI_PACKAGE).append(".PrecompiledFormats;\n\n");
+        source.append("import java.util.List;\n\n");
+
+        source.append("public final class ").append(className).append(" implements PrecompiledFormats {\n\n");
+        if (!packageName.isEmpty()) {
+            // reflective instantiation requires the package to be exported, even for public classes
+            source.append("    static {\n");
+            source.append("        // lets the library instantiate this class when the tests run as a named module\n");
+            source.append("        ").append(className).append(".class.getModule().addExports(\n");
+            source.append("                ").append(literal(packageName)).append(",\n");
+            source.append("                PrecompiledFormats.class.getModule()\n");
+            source.append("        );\n");
+            source.append("    }\n\n");
+        }
+        source.append("    public ").append(className).append("() {\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public List<PrecompiledFormat> formats() {\n");
+        source.append("        return List.of(");
+        for (int i = 0; i < formats.size(); i++) {
+            source.append(i == 0 ? "\n" : ",\n").append("                new Format").append(i).append("()");
+        }
+        source.append("\n        );\n");
+        source.append("    }\n");
+
+        for (int i = 0; i < formats.size(); i++) {
+            source.append('\n');
+            appendFormatClass(source, "Format" + i, formats.get(i));
+        }
+        source.append("\n}\n");
+
+        writer.write(source.toString());
+    }
+
+    private static void appendFormatClass(StringBuilder source, String name, FormatAnalysis format) {
+        List<String> literals = format.getLiterals();
+        List<Integer> argumentsOrder = format.getArgumentsOrder();
+        int argumentCount = argumentsOrder.size();
+
+        source.append("    private static final class ").append(name).append(" implements PrecompiledFormat {\n\n");
+        appendGetter(source, "String", "format", literal(format.getFormat()));
+        appendGetter(source, "String", "argumentPlaceholder", literal(format.getArgumentPlaceholder()));
+        appendGetter(source, "List<String>", "literals", listOf(
+                literals.stream().map(PrecompiledFormatsWriter::literal).collect(Collectors.toList())
+        ));
+        appendGetter(source, "List<Integer>", "argumentsOrder", listOf(
+                argumentsOrder.stream().map(String::valueOf).collect(Collectors.toList())
+        ));
+
+        source.append("        @Override\n");
+        source.append("        public boolean match(String line, int[] bounds) {\n");
+        String prefix = literals.get(0);
+        String suffix = literals.get(argumentCount);
+        if (argumentCount == 0) {
+            source.append("            return line.equals(").append(literal(prefix)).append(");\n");
+        } else {
+            source.append("            if (line.length() < ").append(prefix.length() + suffix.length());
+            if (!prefix.isEmpty()) {
+                source.append("\n                    || !line.startsWith(").append(literal(prefix)).append(")");
+            }
+            if (!suffix.isEmpty()) {
+                source.append("\n                    || !line.endsWith(").append(literal(suffix)).append(")");
+            }
+            source.append(") {\n");
+            source.append("                return false;\n");
+            source.append("            }\n");
+            source.append("            int next = line.length() - ").append(suffix.length()).append(";\n");
+            if (argumentCount > 1) {
+                source.append("            int start;\n");
+            }
+            for (int i = argumentCount - 1; i > 0; i--) {
+                String literal = literals.get(i);
+                int argumentIndex = argumentsOrder.get(i);
+                source.append("            start = line.lastIndexOf(").append(literal(literal))
+                        .append(", next - ").append(literal.length()).append(");\n");
+                source.append("            if (start < ").append(prefix.length()).append(") {\n");
+                source.append("                return false;\n");
+                source.append("            }\n");
+                source.append("            bounds[").append(2 * argumentIndex).append("] = start + ")
+                        .append(literal.length()).append(";\n");
+                source.append("            bounds[").append(2 * argumentIndex + 1).append("] = next;\n");
+                source.append("            next = start;\n");
+            }
+            int firstArgumentIndex = argumentsOrder.get(0);
+            source.append("            bounds[").append(2 * firstArgumentIndex).append("] = ")
+                    .append(prefix.length()).append(";\n");
+            source.append("            bounds[").append(2 * firstArgumentIndex + 1).append("] = next;\n");
+            source.append("            return true;\n");
+        }
+        source.append("        }\n\n");
+        source.append("    }\n");
+    }
+
+    private static void appendGetter(StringBuilder source, String type, String name, String value) {
+        source.append("        @Override\n");
+        source.append("        public ").append(type).append(' ').append(name).append("() {\n");
+        source.append("            return ").append(value).append(";\n");
+        source.append("        }\n\n");
+    }
+
+    private static String listOf(List<String> elements) {
+        return "List.of(" + String.join(", ", elements) + ")";
+    }
+
+    /**
+     * Creates Java string literal representing the given value. Non-ASCII characters are always escaped, so the
+     * generated source does not depend on the compiler encoding.
+     */
+    static String literal(String value) {
+        var literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                case '\b':
+                    literal.append("\\b");
+                    break;
+                case '\f':
+                    literal.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7E) {
+                        // unicode escapes are translated before lexing, so line terminators are handled above
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+}
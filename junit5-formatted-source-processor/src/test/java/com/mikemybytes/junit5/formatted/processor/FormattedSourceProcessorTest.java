@@ -0,0 +1,416 @@
+package com.mikemybytes.junit5.formatted.processor;
+
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormat;
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormattedSourceProcessorTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void reportsFormatWithTooManyArguments() throws IOException {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0} + {1} = {2}\", lines = \"1 + 2 = 3\")",
+                "void sum(int a, int b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(
+                List.of("Invalid format: Number of method arguments is less than the number of format arguments"),
+                errors
+        );
+    }
+
+    @Test
+    void reportsInvalidArgumentIndexes() throws IOException {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0} + {2}\", lines = \"1 + 2\")",
+                "void sum(int a, int b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(
+                List.of("Invalid format: Arguments provided in the format string are invalid: "
+                        + "expected [0, 1] but got [0, 2]"),
+                errors
+        );
+    }
+
+    @Test
+    void generatesPrecompiledFormatsForEachTestClass() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{1} <- {0}\", lines = \"a <- b\")",
+                "void indexed(String a, String b) {}",
+                "@FormattedSource(format = \"? -> ?\", argumentPlaceholder = \"?\", lines = \"a -> b\")",
+                "void positional(String a, String b) {}",
+                "@FormattedSource(format = \"{1} <- {0}\", lines = \"c <- d\")",
+                "void sameFormat(String a, String b) {}",
+                "static class Nested {",
+                "@FormattedSource(format = \"nested {0}\", lines = \"nested a\")",
+                "void nested(String a) {}",
+                "}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+
+        List<PrecompiledFormat> formats = loadFormats("sample.SampleTest_FormattedSourceFormats");
+        assertEquals(2, formats.size());
+        assertFormat(formats.get(0), "{1} <- {0}", "", List.of("", " <- ", ""), List.of(1, 0));
+        assertFormat(formats.get(1), "? -> ?", "?", List.of("", " -> ", ""), List.of(0, 1));
+
+        List<PrecompiledFormat> nestedFormats = loadFormats("sample.SampleTest_Nested_FormattedSourceFormats");
+        assertEquals(1, nestedFormats.size());
+        assertFormat(nestedFormats.get(0), "nested {0}", "", List.of("nested ", ""), List.of(0));
+    }
+
+    @Test
+    void usesSharedFormatWhenFormatIsOmitted() throws Exception {
+        // given
+        String source = "package sample;\n"
+                + "import com.mikemybytes.junit5.formatted.FormattedSource;\n"
+                + "import com.mikemybytes.junit5.formatted.FormattedSourceFormat;\n"
+                + "@FormattedSourceFormat(format = \"{1} <- {0}\")\n"
+                + "class SampleTest {\n"
+                + "@FormattedSource(lines = \"a <- b\")\n"
+                + "void shared(String a, String b) {}\n"
+                + "static class Nested {\n"
+                + "@FormattedSource(lines = \"c <- d\")\n"
+                + "void nested(String a, String b) {}\n"
+                + "}\n"
+                + "}\n";
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+        PrecompiledFormat format = loadFormats("sample.SampleTest_FormattedSourceFormats").get(0);
+        assertFormat(format, "{1} <- {0}", "", List.of("", " <- ", ""), List.of(1, 0));
+        PrecompiledFormat nestedFormat = loadFormats("sample.SampleTest_Nested_FormattedSourceFormats").get(0);
+        assertFormat(nestedFormat, "{1} <- {0}", "", List.of("", " <- ", ""), List.of(1, 0));
+    }
+
+    @Test
+    void reportsOmittedFormatWithoutSharedFormat() throws IOException {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(lines = \"1 + 2\")",
+                "void sum(int a, int b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(
+                List.of("Format must be defined either by the test method annotation or with @FormattedSourceFormat"),
+                errors
+        );
+    }
+
+    @Test
+    void skipsTablesWithoutFormat() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(table = true, lines = {\"| a | b |\", \"| 1 | 2 |\"})",
+                "void sum(int a, int b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+    }
+
+    @Test
+    void skipsFormatsWithAlternatives() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0} + {1}\", alternativeFormats = \"{0}\", lines = \"1 + 2\")",
+                "void alternatives(String a, String b) {}",
+                "@FormattedSource(format = \"{0} - {1}\", lines = \"1 - 2\")",
+                "void single(String a, String b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+        List<PrecompiledFormat> formats = loadFormats("sample.SampleTest_FormattedSourceFormats");
+        assertEquals(List.of("{0} - {1}"), formats.stream().map(PrecompiledFormat::format).collect(Collectors.toList()));
+    }
+
+    @Test
+    void acceptsBatchModeMethodsWithSingleParameter() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0} + {1} = {2}\", lines = \"1 + 2 = 3\", batchSize = 100)",
+                "void sum(java.util.List<?> rows) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+        PrecompiledFormat format = loadFormats("sample.SampleTest_FormattedSourceFormats").get(0);
+        assertEquals(List.of(0, 1, 2), format.argumentsOrder());
+    }
+
+    @Test
+    void escapesFormatLiterals() throws Exception {
+        // given
+        String format = "\"{0}\" \\ {1}\té ";
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = " + PrecompiledFormatsWriter.literal(format) + ", lines = \"\")",
+                "void escaped(String a, String b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+        PrecompiledFormat precompiled = loadFormats("sample.SampleTest_FormattedSourceFormats").get(0);
+        assertEquals(format, precompiled.format());
+        assertEquals(List.of("\"", "\" \\ ", "\té "), precompiled.literals());
+    }
+
+    @Test
+    void reportsUnsupportedArgumentType() throws IOException {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0:int} + {1:float}\", lines = \"1 + 2\")",
+                "void sum(int a, float b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(
+                List.of("Invalid format: Unsupported argument type: float "
+                        + "(supported types: int, long, double, decimal, boolean, word)"),
+                errors
+        );
+    }
+
+    @Test
+    void skipsFormatsWithTypedPlaceholders() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0:int} + {1:int}\", lines = \"1 + 2\")",
+                "void indexed(int a, int b) {}",
+                "@FormattedSource(format = \"? + ?:long\", argumentPlaceholder = \"?\", lines = \"1 + 2\")",
+                "void positional(String a, long b) {}",
+                "@FormattedSource(format = \"{0} + {1}\", lines = \"1 + 2\")",
+                "void untyped(String a, String b) {}"
+        );
+        // when
+        List<String> errors = compile(source);
+        // then
+        assertEquals(List.of(), errors);
+        List<PrecompiledFormat> formats = loadFormats("sample.SampleTest_FormattedSourceFormats");
+        assertEquals(1, formats.size());
+        assertEquals("{0} + {1}", formats.get(0).format());
+    }
+
+    @Test
+    void warnsAboutAmbiguousFormats() throws Exception {
+        // given
+        String source = testClass("SampleTest",
+                "@FormattedSource(format = \"{0}{1} = {2:int}\", lines = \"1 = 1\")",
+                "void adjacent(String a, String b, int c) {}",
+                "@FormattedSource(format = \"{0} {1}\", lines = \"a b\")",
+                "void whitespace(String a, String b) {}",
+                "@FormattedSource(format = \"{0} = {1}\", lines = \"a = b\")",
+                "void unambiguous(String a, String b) {}"
+        );
+        // when
+        List<String> warnings = compile(source, Diagnostic.Kind.WARNING).stream()
+                .filter(warning -> warning.startsWith("Ambiguous format")) // skipping unrelated compiler warnings
+                .collect(Collectors.toList());
+        // then
+        assertEquals(
+                List.of(
+                        "Ambiguous format: placeholders of arguments 0 and 1 are adjacent, "
+                                + "so the value of argument 1 is always empty",
+                        "Ambiguous format: placeholders of arguments 0 and 1 are separated only by whitespace, "
+                                + "so whitespace within their values makes the boundaries ambiguous"
+                ),
+                warnings
+        );
+    }
+
+    @Test
+    void matchesLinesLikeGreedyRegex() throws Exception {
+        // given
+        String[] formats = {"{0}-{1}", "{1}--{0}", "-{0}-{1}-", "{0}{1}-{2}", "--{0}-{1}-{2}--", "{2}-{0}-{1}", "--"};
+        String methods = IntStream.range(0, formats.length)
+                .mapToObj(i -> "@FormattedSource(format = \"" + formats[i] + "\", lines = \"\")\n"
+                        + "void test" + i + "(String a, String b, String c) {}")
+                .collect(Collectors.joining("\n"));
+        String source = testClass("SampleTest", methods);
+        assertEquals(List.of(), compile(source));
+        List<PrecompiledFormat> precompiled = loadFormats("sample.SampleTest_FormattedSourceFormats");
+        assertEquals(formats.length, precompiled.size());
+
+        // when & then
+        var random = new Random(42);
+        for (PrecompiledFormat format : precompiled) {
+            for (int i = 0; i < 2_000; i++) {
+                assertSameResultsAsRegex(format, randomLine(random));
+            }
+        }
+    }
+
+    private static String testClass(String name, String... members) {
+        return "package sample;\n"
+                + "import com.mikemybytes.junit5.formatted.FormattedSource;\n"
+                + "class " + name + " {\n"
+                + String.join("\n", members) + "\n"
+                + "}\n";
+    }
+
+    private List<String> compile(String source) throws IOException {
+        return compile(source, Diagnostic.Kind.ERROR);
+    }
+
+    private List<String> compile(String source, Diagnostic.Kind kind) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(outputDirectory.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(outputDirectory.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, compilationClasspath());
+
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    List.of(),
+                    null,
+                    List.of(new SourceFile("sample/SampleTest.java", source))
+            );
+            task.setProcessors(List.of(new FormattedSourceProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == kind)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    private static List<File> compilationClasspath() {
+        return Stream.of(FormattedSource.class, ParameterizedTest.class, Test.class)
+                .map(FormattedSourceProcessorTest::location)
+                .collect(Collectors.toList());
+    }
+
+    private static File location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toFile();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<PrecompiledFormat> loadFormats(String className) throws Exception {
+        assertTrue(Files.exists(outputDirectory.resolve(className.replace('.', '/') + ".java")));
+        var classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri().toURL()}, getClass().getClassLoader());
+        Constructor<?> constructor = classLoader.loadClass(className).getDeclaredConstructor();
+        // instantiated by the library, possibly from another module
+        assertTrue(Modifier.isPublic(constructor.getModifiers()));
+        assertTrue(Modifier.isPublic(constructor.getDeclaringClass().getModifiers()));
+        var formats = (PrecompiledFormats) constructor.newInstance();
+        return formats.formats();
+    }
+
+    private static void assertFormat(
+            PrecompiledFormat format,
+            String expectedFormat,
+            String expectedPlaceholder,
+            List<String> expectedLiterals,
+            List<Integer> expectedArgumentsOrder) {
+        assertEquals(expectedFormat, format.format());
+        assertEquals(expectedPlaceholder, format.argumentPlaceholder());
+        assertEquals(expectedLiterals, format.literals());
+        assertEquals(expectedArgumentsOrder, format.argumentsOrder());
+    }
+
+    private static void assertSameResultsAsRegex(PrecompiledFormat format, String line) {
+        List<Integer> argumentsOrder = format.argumentsOrder();
+        String regex = format.literals().stream()
+                .map(literal -> literal.isEmpty() ? "" : Pattern.quote(literal))
+                .collect(Collectors.joining("(.*)"));
+        Matcher matcher = Pattern.compile(regex).matcher(line);
+        int[] bounds = new int[2 * argumentsOrder.size()];
+
+        boolean expectedMatch = matcher.matches();
+        boolean actualMatch = format.match(line, bounds);
+
+        assertEquals(expectedMatch, actualMatch, () -> "Different match results for '" + line + "'");
+        if (expectedMatch) {
+            for (int i = 0; i < argumentsOrder.size(); i++) {
+                int argumentIndex = argumentsOrder.get(i);
+                assertEquals(matcher.start(i + 1), bounds[2 * argumentIndex]);
+                assertEquals(matcher.end(i + 1), bounds[2 * argumentIndex + 1]);
+            }
+        }
+    }
+
+    private static String randomLine(Random random) {
+        var line = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            line.append("-ab".charAt(random.nextInt(3)));
+        }
+        return line.toString();
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        SourceFile(String path, String content) {
+            super(URI.create("string:///" + path), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import com.mikemybytes.junit5.formatted.FormattedFileSource;
+import com.mikemybytes.junit5.formatted.FormattedRows;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executes the data set in batches of {@value #BATCH_SIZE} lines.
+ */
+class BatchFixture {
+
+    static final int BATCH_SIZE = 10_000;
+
+    @ParameterizedTest
+    @FormattedFileSource(format = ScalingDataset.FORMAT, files = ScalingDataset.FILE, batchSize = BATCH_SIZE)
+    void calculatesSum(FormattedRows rows) {
+        rows.forEachRow(row -> assertEquals(row.getInt(2), row.getInt(0) + row.getInt(1)));
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import com.mikemybytes.junit5.formatted.FormattedSourceParser;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executes each line of the data set as a separate {@link DynamicTest}.
+ */
+class DynamicTestsFixture {
+
+    private static final FormattedSourceParser PARSER = FormattedSourceParser.builder(ScalingDataset.FORMAT).build();
+
+    @TestFactory
+    Stream<DynamicTest> calculatesSum() {
+        return PARSER.dynamicTests(Path.of(ScalingDataset.FILE), StandardCharsets.UTF_8, values -> assertEquals(
+                Integer.parseInt((String) values[2]),
+                Integer.parseInt((String) values[0]) + Integer.parseInt((String) values[1])
+        ));
+    }
+
+}
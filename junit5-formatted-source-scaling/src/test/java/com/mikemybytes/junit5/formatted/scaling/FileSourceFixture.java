@@ -0,0 +1,19 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import com.mikemybytes.junit5.formatted.FormattedFileSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executes each line of the data set as a separate {@code @ParameterizedTest} invocation.
+ */
+class FileSourceFixture {
+
+    @ParameterizedTest
+    @FormattedFileSource(format = ScalingDataset.FORMAT, files = ScalingDataset.FILE)
+    void calculatesSum(int a, int b, int sum) {
+        assertEquals(sum, a + b);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Result of launching a single fixture over a data set of the given size via the JUnit {@link Launcher}.
+ */
+final class Measurement {
+
+    private final Scenario scenario;
+    private final int lines;
+    private final TestExecutionSummary summary;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+
+    private Measurement(
+            Scenario scenario,
+            int lines,
+            TestExecutionSummary summary,
+            long elapsedNanos,
+            long allocatedBytes,
+            long peakHeapBytes) {
+        this.scenario = scenario;
+        this.lines = lines;
+        this.summary = summary;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    /**
+     * Launches the fixture of the given scenario within the current thread, so the allocations of the whole engine
+     * (discovery, argument providers and the test execution itself) can be attributed to it.
+     */
+    static Measurement launch(Scenario scenario, int lines) {
+        LauncherDiscoveryRequest request = request()
+                .selectors(selectClass(scenario.getFixture()))
+                .build();
+        Launcher launcher = LauncherFactory.create();
+        var listener = new SummaryGeneratingListener();
+
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        launcher.execute(request, listener);
+
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Measurement(scenario, lines, listener.getSummary(), elapsedNanos, allocatedBytes, peakHeapBytes);
+    }
+
+    Scenario getScenario() {
+        return scenario;
+    }
+
+    int getLines() {
+        return lines;
+    }
+
+    TestExecutionSummary getSummary() {
+        return summary;
+    }
+
+    double getLinesPerSecond() {
+        return lines * 1e9 / elapsedNanos;
+    }
+
+    double getNanosPerLine() {
+        return (double) elapsedNanos / lines;
+    }
+
+    double getAllocatedBytesPerLine() {
+        return (double) allocatedBytes / lines;
+    }
+
+    /**
+     * Allocation rate in MB/s.
+     */
+    double getAllocationRate() {
+        return allocatedBytes * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+
+    double getPeakHeapMegabytes() {
+        return peakHeapBytes / (1024.0 * 1024.0);
+    }
+
+    static String csvHeader() {
+        return "scenario,lines,lines_per_second,ns_per_line,allocated_bytes_per_line,allocation_rate_mb_s,peak_heap_mb";
+    }
+
+    String toCsv() {
+        return String.format(
+                Locale.ROOT,
+                "%s,%d,%.0f,%.1f,%.0f,%.1f,%.1f",
+                scenario.getId(), lines, getLinesPerSecond(), getNanosPerLine(), getAllocatedBytesPerLine(),
+                getAllocationRate(), getPeakHeapMegabytes()
+        );
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Generates data sets of sums ({@code a + b = c}) of the requested size. The same size always results in the same
+ * content, so the measurements stay comparable between the runs.
+ */
+final class ScalingDataset {
+
+    /**
+     * Location of the data set read by the fixtures (relative to the module directory).
+     */
+    static final String FILE = "target/scaling/sums.txt";
+
+    static final String FORMAT = "{0} + {1} = {2}";
+
+    private ScalingDataset() {
+        // static only
+    }
+
+    static Path generate(int lines) throws IOException {
+        Path file = Path.of(FILE);
+        Files.createDirectories(file.getParent());
+        var random = new SplittableRandom(lines);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                int a = random.nextInt(1_000_000);
+                int b = random.nextInt(1_000_000);
+                writer.write(a + " + " + b + " = " + (a + b));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs generated data sets of growing sizes through the JUnit {@code Launcher} for each {@link Scenario}, recording
+ * throughput, allocations and peak heap usage into {@value #RESULTS}. Fails when the results regress past the
+ * {@link ScalingThresholds}.
+ *
+ * <p>Sizes are controlled via the {@code scaling.sizes} system property (comma-separated numbers of lines), while
+ * {@code scaling.max-invocations} limits the data sets of the scenarios executing each line separately. Both are
+ * required - their defaults are defined in the module POM only.</p>
+ */
+class ScalingTest {
+
+    static final String RESULTS = "target/scaling/results.csv";
+
+    /**
+     * Smaller data sets are dominated by the JIT warm-up, so they are only checked for correctness.
+     */
+    private static final int WARMED_UP_LINES = 10_000;
+
+    private static final ScalingThresholds thresholds = ScalingThresholds.load();
+
+    @BeforeAll
+    static void prepareResults() throws IOException {
+        Path results = Path.of(RESULTS);
+        Files.createDirectories(results.getParent());
+        Files.writeString(results, Measurement.csvHeader() + System.lineSeparator(), StandardCharsets.UTF_8);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Scenario.class)
+    void scalesLinearly(Scenario scenario) throws IOException {
+        List<Measurement> measurements = new ArrayList<>();
+        for (int lines : sizes()) {
+            if (scenario.isLimitedByInvocations() && lines > Integer.parseInt(property("scaling.max-invocations"))) {
+                continue;
+            }
+            ScalingDataset.generate(lines);
+            Measurement measurement = Measurement.launch(scenario, lines);
+
+            assertThat(measurement.getSummary().getTotalFailureCount()).isZero();
+            assertThat(measurement.getSummary().getTestsSucceededCount())
+                    .isEqualTo(scenario.expectedInvocations(lines));
+            record(measurement);
+            measurements.add(measurement);
+        }
+
+        List<Measurement> warmedUp = measurements.stream()
+                .filter(measurement -> measurement.getLines() >= WARMED_UP_LINES)
+                .collect(Collectors.toList());
+        var softly = new SoftAssertions();
+        for (Measurement measurement : warmedUp) {
+            String description = scenario.getId() + " with " + measurement.getLines() + " lines";
+            softly.assertThat(measurement.getLinesPerSecond())
+                    .as("lines per second of " + description)
+                    .isGreaterThanOrEqualTo(thresholds.minLinesPerSecond(scenario));
+            softly.assertThat(measurement.getAllocatedBytesPerLine())
+                    .as("allocated bytes per line of " + description)
+                    .isLessThanOrEqualTo(thresholds.maxAllocatedBytesPerLine(scenario));
+            softly.assertThat(measurement.getPeakHeapMegabytes())
+                    .as("peak heap (MB) of " + description)
+                    .isLessThanOrEqualTo(thresholds.maxPeakHeapMegabytes(scenario));
+        }
+        if (warmedUp.size() > 1) {
+            Measurement fastest = warmedUp.stream()
+                    .min(Comparator.comparingDouble(Measurement::getNanosPerLine))
+                    .orElseThrow();
+            Measurement largest = warmedUp.get(warmedUp.size() - 1);
+            softly.assertThat(largest.getNanosPerLine() / fastest.getNanosPerLine())
+                    .as("time per line growth of " + scenario.getId() + " between " + fastest.getLines() + " and "
+                            + largest.getLines() + " lines")
+                    .isLessThanOrEqualTo(thresholds.maxTimePerLineGrowth(scenario));
+        }
+        softly.assertAll();
+    }
+
+    private static List<Integer> sizes() {
+        return Arrays.stream(property("scaling.sizes").split(","))
+                .map(String::strip)
+                .map(Integer::valueOf)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static String property(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Missing system property: " + name);
+        }
+        return value.strip();
+    }
+
+    private static void record(Measurement measurement) throws IOException {
+        String row = measurement.toCsv();
+        Files.writeString(
+                Path.of(RESULTS),
+                row + System.lineSeparator(),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND
+        );
+    }
+
+}
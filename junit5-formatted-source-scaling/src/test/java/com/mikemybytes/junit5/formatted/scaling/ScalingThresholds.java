@@ -0,0 +1,70 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Regression thresholds stored in {@value #RESOURCE}, defined separately for each {@link Scenario}.
+ */
+final class ScalingThresholds {
+
+    static final String RESOURCE = "/scaling-thresholds.properties";
+
+    private final Properties properties;
+
+    private ScalingThresholds(Properties properties) {
+        this.properties = properties;
+    }
+
+    static ScalingThresholds load() {
+        var properties = new Properties();
+        try (InputStream input = ScalingThresholds.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing thresholds resource: " + RESOURCE);
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ScalingThresholds(properties);
+    }
+
+    /**
+     * Minimum throughput of the warmed-up runs.
+     */
+    double minLinesPerSecond(Scenario scenario) {
+        return value(scenario, "min-lines-per-second");
+    }
+
+    /**
+     * Maximum number of bytes allocated by the whole engine per a single line.
+     */
+    double maxAllocatedBytesPerLine(Scenario scenario) {
+        return value(scenario, "max-allocated-bytes-per-line");
+    }
+
+    double maxPeakHeapMegabytes(Scenario scenario) {
+        return value(scenario, "max-peak-heap-mb");
+    }
+
+    /**
+     * Maximum ratio between the time per line of the largest and the fastest warmed-up data set - anything above
+     * {@code 1} means non-linear behavior. Smaller data sets are often slower (less warmed up), so comparing with
+     * the smallest one would hide the growth.
+     */
+    double maxTimePerLineGrowth(Scenario scenario) {
+        return value(scenario, "max-time-per-line-growth");
+    }
+
+    private double value(Scenario scenario, String name) {
+        String key = scenario.getId() + "." + name;
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing threshold: " + key);
+        }
+        return Double.parseDouble(value.strip());
+    }
+
+}
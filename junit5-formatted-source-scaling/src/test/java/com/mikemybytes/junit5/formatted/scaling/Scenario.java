@@ -0,0 +1,45 @@
+package com.mikemybytes.junit5.formatted.scaling;
+
+/**
+ * Ways of executing the data set measured by the {@link ScalingTest}.
+ */
+enum Scenario {
+
+    FILE_SOURCE("file-source", FileSourceFixture.class, 1),
+    DYNAMIC_TESTS("dynamic-tests", DynamicTestsFixture.class, 1),
+    BATCHES("batches", BatchFixture.class, BatchFixture.BATCH_SIZE);
+
+    private final String id;
+    private final Class<?> fixture;
+    private final int linesPerInvocation;
+
+    Scenario(String id, Class<?> fixture, int linesPerInvocation) {
+        this.id = id;
+        this.fixture = fixture;
+        this.linesPerInvocation = linesPerInvocation;
+    }
+
+    /**
+     * Identifier used within the thresholds and the results.
+     */
+    String getId() {
+        return id;
+    }
+
+    Class<?> getFixture() {
+        return fixture;
+    }
+
+    int expectedInvocations(int lines) {
+        return (lines + linesPerInvocation - 1) / linesPerInvocation;
+    }
+
+    /**
+     * JUnit keeps a descriptor of every single invocation until the end of the run, so the memory needed by the engine
+     * grows with the number of invocations (not lines) regardless of the library.
+     */
+    boolean isLimitedByInvocations() {
+        return linesPerInvocation == 1;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedFileSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedFileSourceTest {
+
+    @ParameterizedTest(name = "{0} + {1} = {2}")
+    @FormattedFileSource(format = "{0} + {1} = {2}", resources = "sums.txt")
+    void supportsRelativeClasspathResource(int a, int b, int c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+    @ParameterizedTest(name = "{0} + {1} = {2}")
+    @FormattedFileSource(
+            format = "{0} + {1} = {2}",
+            resources = "/com/mikemybytes/junit5/formatted/test/sums.txt",
+            files = "src/test/resources/com/mikemybytes/junit5/formatted/test/sums.txt"
+    )
+    void supportsMultipleInputs(int a, int b, int c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+    @ParameterizedTest(name = "{0} + {1} = {2}")
+    @FormattedFileSource(
+            format = "? + ? = ?",
+            argumentPlaceholder = "?",
+            files = "src/test/resources/com/mikemybytes/junit5/formatted/test/sums.txt"
+    )
+    void supportsFilesWithPositionalPlaceholders(int a, int b, int c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+    @ParameterizedTest(name = "{0} + {1} = {2}")
+    @FormattedFileSource(format = "{0} + {1} = {2}", resources = "sums.txt.gz")
+    void supportsGzipCompressedInput(int a, int b, int c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+    @ParameterizedTest(name = "{0} maps to {1}")
+    @FormattedFileSource(
+            format = "{0} maps to {1}",
+            resources = "/data/mappings.txt",
+            nullValues = "null",
+            emptyValue = "EMPTY"
+    )
+    void supportsAllValueOptions(String input, String output) {
+        if (input == null) {
+            assertThat(output).isEqualTo("EMPTY");
+        } else {
+            assertThat(input).isIn("foo", "zażółć");
+            assertThat(output).isIn("bar", "gęślą");
+        }
+    }
+
+}
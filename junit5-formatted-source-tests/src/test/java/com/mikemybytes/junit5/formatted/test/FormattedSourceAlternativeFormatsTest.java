@@ -0,0 +1,45 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceAlternativeFormatsTest {
+
+    @FormattedSourceTest(format = "{0} + {1} = {2}", alternativeFormats = "{0} = {2}", textBlock = """
+            1 + 2 = 3
+            5 = 5
+            3 + 4 = 7
+            """)
+    void matchesEachLineWithFirstCompatibleFormat(int a, Integer b, int sum) {
+        assertThat(a + (b != null ? b : 0)).isEqualTo(sum);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(
+            format = "encodes {0} as {1}",
+            alternativeFormats = {"decodes {1} as {0}", "rejects {1}"},
+            lines = {
+                    "encodes 15 seconds as 'PT15S'",
+                    "decodes 'PT3M' as 180 seconds",
+                    "rejects 'P-1'"
+            }
+    )
+    void dispatchesByLeadingText(String duration, String encoded) {
+        assertThat(encoded).isIn("PT15S", "PT3M", "P-1");
+        assertThat(duration).isIn("15 seconds", "180 seconds", null);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "? + ?:int", alternativeFormats = "?", argumentPlaceholder = "?", lines = {
+            "a + 1",
+            "b"
+    })
+    void supportsPositionalPlaceholders(String name, Integer number) {
+        assertThat(name).isIn("a", "b");
+        assertThat(number).isIn(1, null);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedRow;
+import com.mikemybytes.junit5.formatted.FormattedRows;
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceBatchTest {
+
+    private static final List<Integer> batchSizes = new ArrayList<>();
+
+    @AfterAll
+    static void verifyBatches() {
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "{0} + {1} = {2}", batchSize = 2, textBlock = """
+            1 + 2 = 3
+            3 + 4 = 7
+            5 + 5 = 10
+            0 + 0 = 0
+            7 + 1 = 8
+            """)
+    void groupsTestCasesIntoBatches(FormattedRows rows) {
+        batchSizes.add(rows.size());
+        rows.forEachRow(row -> assertThat(row.getInt(0) + row.getInt(1)).isEqualTo(row.getInt(2)));
+    }
+
+    @FormattedSourceTest(format = "{0} -> {1}", batchSize = 10, lines = {
+            "a -> A",
+            "b -> B"
+    })
+    void namesBatchesAfterTheirTestCases(List<FormattedRow> rows, TestInfo info) {
+        assertThat(info.getDisplayName()).isEqualTo("a -> A ... b -> B (2 test cases)");
+        assertThat(rows).allSatisfy(row -> assertThat(row.get(0).toUpperCase()).isEqualTo(row.get(1)));
+    }
+
+}
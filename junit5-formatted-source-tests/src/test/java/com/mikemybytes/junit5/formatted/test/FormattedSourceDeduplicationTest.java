@@ -0,0 +1,41 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceDeduplicationTest {
+
+    private static final String DEDUPLICATION_ENABLED = "formattedsource.deduplication.enabled";
+    private static final List<String> executions = new ArrayList<>();
+
+    @BeforeAll
+    static void enableDeduplication() {
+        // configuration parameters fall back to the system properties
+        System.setProperty(DEDUPLICATION_ENABLED, "true");
+    }
+
+    @AfterAll
+    static void disableDeduplication() {
+        System.clearProperty(DEDUPLICATION_ENABLED);
+        assertThat(executions).containsExactly("EUR -> PLN", "PLN -> EUR");
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "{0} -> {1}", lines = {
+            "EUR -> PLN",
+            "  EUR -> 'PLN'  ",
+            "PLN -> EUR",
+            "EUR -> PLN"
+    })
+    void skipsDuplicatedTestCases(String from, String to) {
+        executions.add(from + " -> " + to);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSourceParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceDynamicTestsTest {
+
+    private static final FormattedSourceParser PARSER = FormattedSourceParser.builder("{0} + {1} = {2}").build();
+    private static final List<String> events = new ArrayList<>();
+
+    @AfterAll
+    static void verifyLaziness() {
+        assertThat(events).containsExactly(
+                "generated 1 + 1 = 2", "executed 1 + 1 = 2",
+                "generated 2 + 2 = 4", "executed 2 + 2 = 4",
+                "generated 3 + 3 = 6", "executed 3 + 3 = 6",
+                "closed"
+        );
+    }
+
+    @TestFactory
+    Stream<DynamicTest> producesDynamicTestsLazily() {
+        Stream<String> lines = IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> i + " + " + i + " = " + (2 * i))
+                .peek(line -> events.add("generated " + line))
+                .onClose(() -> events.add("closed"));
+
+        return PARSER.dynamicTests(lines, values -> {
+            int a = Integer.parseInt((String) values[0]);
+            int b = Integer.parseInt((String) values[1]);
+            assertThat(a + b).isEqualTo(Integer.parseInt((String) values[2]));
+            events.add("executed " + values[0] + " + " + values[1] + " = " + values[2]);
+        });
+    }
+
+}
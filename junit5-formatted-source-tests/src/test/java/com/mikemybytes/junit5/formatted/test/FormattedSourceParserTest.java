@@ -0,0 +1,30 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSourceParser;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.StringReader;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceParserTest {
+
+    private static final FormattedSourceParser PARSER = FormattedSourceParser.builder("{0} + {1} = {2}").build();
+
+    static Stream<Arguments> sums() {
+        return PARSER.parse(new StringReader("""
+                1 + 2 = 3
+                3 + 4 = 7
+                """));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sums")
+    void supportsMethodSource(int a, int b, int c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.FormattedSourceFormat;
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FormattedSourceFormat(format = "{0} + {1} = {2}", quoteCharacter = '"', nullValues = "none")
+class FormattedSourceSharedFormatTest {
+
+    @FormattedSourceTest(lines = {
+            "1 + 2 = 3",
+            "3 + 4 = 7"
+    })
+    void usesSharedFormat(int a, int b, int c, TestInfo info) {
+        assertThat(a + b).isEqualTo(c);
+
+        assertThat(info.getDisplayName()).isEqualTo("%d + %d = %d".formatted(a, b, c));
+    }
+
+    @ParameterizedTest
+    @FormattedSource(textBlock = """
+            "foo" + "bar" = none
+            """)
+    void usesSharedFormatOptions(String a, String b, String c) {
+        assertThat(a).isEqualTo("foo");
+        assertThat(b).isEqualTo("bar");
+        assertThat(c).isNull();
+    }
+
+    @FormattedSourceTest(format = "{0} - {1} = {2}", lines = "3 - 1 = 2")
+    void prefersOwnFormat(int a, int b, int c) {
+        assertThat(a - b).isEqualTo(c);
+    }
+
+    @Nested
+    class NestedTest {
+
+        @FormattedSourceTest(lines = "2 + 2 = 4")
+        void usesFormatOfEnclosingClass(int a, int b, int c) {
+            assertThat(a + b).isEqualTo(c);
+        }
+
+    }
+
+}
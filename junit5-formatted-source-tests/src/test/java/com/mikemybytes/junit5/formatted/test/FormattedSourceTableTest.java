@@ -0,0 +1,49 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedRows;
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceTableTest {
+
+    @FormattedSourceTest(table = true, textBlock = """
+            | a | b  | expectedSum |
+            |---|----|------------:|
+            | 1 | 2  | 3           |
+            | 3 | -4 | -1          |
+            """)
+    void mapsColumnsByParameterNames(int a, int b, int expectedSum) {
+        assertThat(a + b).isEqualTo(expectedSum);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(table = true, nullValues = "N/A", textBlock = """
+            +------------+---------+
+            | {1}        | {0}     |
+            +============+=========+
+            | 'a | b'    | 5       |
+            | N/A        | 0       |
+            |            | 0       |
+            +------------+---------+
+            """)
+    void mapsColumnsByIndexes(int length, String text) {
+        assertThat(text == null ? 0 : text.length()).isEqualTo(length);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(table = true, batchSize = 10, lines = {
+            "| {0} | {1} |",
+            "| --- | --- |",
+            "| x   | 1   |",
+            "| y   | 2   |"
+    })
+    void supportsBatchMode(FormattedRows rows) {
+        assertThat(rows.size()).isEqualTo(2);
+        assertThat(rows.get(1).get(0)).isEqualTo("y");
+        assertThat(rows.get(1).getInt(1)).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class FormattedSourceTimeBudgetTest {
+
+    private static final String TIME_BUDGET = "formattedsource.time-budget";
+    private static final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeAll
+    static void setTimeBudget() {
+        // configuration parameters fall back to the system properties
+        System.setProperty(TIME_BUDGET, "200 ms");
+    }
+
+    @AfterAll
+    static void clearTimeBudget() {
+        System.clearProperty(TIME_BUDGET);
+        assertThat(executions).hasValue(1);
+    }
+
+    @FormattedSourceTest(format = "{0} takes {1} ms", lines = {
+            "first takes 300 ms",
+            "second takes 0 ms",
+            "third takes 0 ms"
+    })
+    void skipsTestCasesExceedingTimeBudget(String name, long millis) throws InterruptedException {
+        if (executions.incrementAndGet() > 1) {
+            fail("Test case '" + name + "' should be skipped as the time budget has been exceeded");
+        }
+        Thread.sleep(millis);
+    }
+
+}
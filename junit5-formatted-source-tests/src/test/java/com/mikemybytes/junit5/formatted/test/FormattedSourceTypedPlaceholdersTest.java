@@ -0,0 +1,49 @@
+package com.mikemybytes.junit5.formatted.test;
+
+import com.mikemybytes.junit5.formatted.FormattedSource;
+import com.mikemybytes.junit5.formatted.FormattedSourceTest;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattedSourceTypedPlaceholdersTest {
+
+    @FormattedSourceTest(format = "{0:int} + {1:int} = {2:long}", lines = {
+            "1 + 2 = 3",
+            "-3 + +4 = 1"
+    })
+    void deliversParsedNumbers(int a, int b, long c) {
+        assertThat(a + b).isEqualTo(c);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "{0:word} costs {1:decimal} ({2:boolean})", textBlock = """
+            tea costs 2.50 (true)
+            'green-tea' costs 3.5 (FALSE)
+            """)
+    void deliversParsedValues(Object product, Object price, Object available) {
+        assertThat(product).isIn("tea", "green-tea");
+        assertThat(price).isIn(new BigDecimal("2.50"), new BigDecimal("3.5"));
+        assertThat(available).isInstanceOf(Boolean.class);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "{1:double}{0}", lines = {
+            "1.5kg",
+            "2e3g"
+    })
+    void splitsValuesWithoutDelimiters(String unit, double amount) {
+        assertThat(unit).isIn("kg", "g");
+        assertThat(amount).isIn(1.5, 2000.0);
+    }
+
+    @ParameterizedTest
+    @FormattedSource(format = "? has ?:int items", argumentPlaceholder = "?", lines = "my cart has 3 items")
+    void supportsPositionalPlaceholders(String owner, int items) {
+        assertThat(owner).isEqualTo("my cart");
+        assertThat(items).isEqualTo(3);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Analyzes data sets defined in several alternative formats (e.g. {@code {0} + {1} = {2}} and {@code {0} = {2}}),
+ * where each line is matched by the first format compatible with it.
+ *
+ * <p>The main format defines the arguments (their number and types), just like when it is the only one. Alternative
+ * formats may omit some of these arguments - their values are {@code null} for the lines matched by such formats.
+ * Typed arguments have to be declared with the same type by every format referring to them.</p>
+ */
+class AlternativeFormats {
+
+    private AlternativeFormats() {
+        // static only
+    }
+
+    /**
+     * Analyzes the main format together with its alternatives, creating a single {@link FormatSpecification} of the
+     * whole data set. Without alternatives, the result is the same as of {@link FormatAnalyzer#analyze}.
+     *
+     * @param analyzer             analyzer of the argument placeholders used by all the formats
+     * @param formatString         main format string
+     * @param alternativeFormats   alternative format strings, in the order of their precedence
+     * @param methodParameterCount number of parameters of the test method
+     */
+    static FormatSpecification analyze(
+            FormatAnalyzer analyzer,
+            String formatString,
+            List<String> alternativeFormats,
+            int methodParameterCount) {
+        FormatSpecification mainSpecification = analyzer.analyze(formatString, methodParameterCount);
+        if (alternativeFormats.isEmpty()) {
+            return mainSpecification;
+        }
+
+        int argumentCount = mainSpecification.getArgumentsOrder().size();
+        List<ArgumentType> argumentTypes = mainSpecification.getArgumentTypes();
+        List<FormatAlternative> alternatives = new ArrayList<>();
+        List<String> ambiguities = new ArrayList<>(mainSpecification.getAmbiguities());
+        // the main format is simply the first one to be tried
+        alternatives.add(analyzer.analyzeAlternative(formatString, argumentCount));
+        for (String alternativeFormat : alternativeFormats) {
+            require(alternativeFormat != null, "Alternative format must not be null");
+            FormatAlternative alternative = analyzer.analyzeAlternative(alternativeFormat, argumentCount);
+            requireSameTypes(argumentTypes, alternative);
+            alternatives.add(alternative);
+            for (String ambiguity : alternative.getSpecification().getAmbiguities()) {
+                ambiguities.add("in the alternative format \"" + alternativeFormat + "\", " + ambiguity);
+            }
+        }
+
+        return new FormatSpecification(
+                mainSpecification.getPattern(),
+                mainSpecification.getArgumentsOrder(),
+                argumentTypes,
+                List.copyOf(ambiguities),
+                List.copyOf(alternatives),
+                new AlternativeFormatsLineMatcher(alternatives, argumentCount)
+        );
+    }
+
+    private static void requireSameTypes(List<ArgumentType> argumentTypes, FormatAlternative alternative) {
+        List<ArgumentType> alternativeTypes = alternative.getSpecification().getArgumentTypes();
+        for (int argumentIndex : alternative.getSpecification().getArgumentsOrder()) {
+            ArgumentType expected = argumentTypes.get(argumentIndex);
+            ArgumentType actual = alternativeTypes.get(argumentIndex);
+            require(
+                    expected == actual,
+                    () -> "Argument " + argumentIndex + " has to be of the same type in all the formats, but it is "
+                            + describe(expected) + " in the main format and " + describe(actual)
+                            + " in the alternative format \"" + alternative.getFormatString() + "\""
+            );
+        }
+    }
+
+    private static String describe(ArgumentType type) {
+        return type == ArgumentType.TEXT ? "untyped" : type.getName();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link LineMatcher} trying the {@link AlternativeFormats} in the order of their precedence, until the first one
+ * matching the line.
+ *
+ * <p>Instead of trying every format in turn, the candidates are looked up in a trie of the formats' leading literals
+ * (the text preceding their first placeholders). Walking the trie along the line takes at most as many steps as the
+ * length of the longest leading literal and ends up with the precomputed list of formats whose leading literals are
+ * prefixes of the line - only these could ever match it.</p>
+ */
+class AlternativeFormatsLineMatcher implements LineMatcher {
+
+    private final LineMatcher[] lineMatchers;
+    private final int argumentCount;
+    private final Node root;
+
+    AlternativeFormatsLineMatcher(List<FormatAlternative> alternatives, int argumentCount) {
+        this.lineMatchers = alternatives.stream()
+                .map(alternative -> alternative.getSpecification().getLineMatcher())
+                .toArray(LineMatcher[]::new);
+        this.argumentCount = argumentCount;
+        this.root = new Node();
+        for (int i = 0; i < alternatives.size(); i++) {
+            root.insert(alternatives.get(i).getLeadingLiteral(), i);
+        }
+        root.computeCandidates(new int[0]);
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds) {
+        return match(line, bounds, 0);
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds, long steps) {
+        for (int candidate : root.candidatesFor(line)) {
+            // arguments omitted by the format are not touched by its matcher
+            Arrays.fill(bounds, 0, 2 * argumentCount, -1);
+            LineMatcher lineMatcher = lineMatchers[candidate];
+            if (steps > 0 ? lineMatcher.match(line, bounds, steps) : lineMatcher.match(line, bounds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Trie node representing a prefix of the leading literals.
+     */
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        /**
+         * Formats whose leading literal is exactly the prefix represented by this node.
+         */
+        private int[] formats = new int[0];
+        /**
+         * Formats whose leading literal is a prefix of (or equal to) the prefix represented by this node, in the order
+         * of their precedence.
+         */
+        private int[] candidates;
+
+        void insert(String literal, int format) {
+            Node node = this;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.childOrCreate(literal.charAt(i));
+            }
+            node.formats = append(node.formats, format);
+        }
+
+        void computeCandidates(int[] inheritedCandidates) {
+            int[] merged = Arrays.copyOf(inheritedCandidates, inheritedCandidates.length + formats.length);
+            System.arraycopy(formats, 0, merged, inheritedCandidates.length, formats.length);
+            Arrays.sort(merged);
+            candidates = merged;
+            for (Node child : children) {
+                child.computeCandidates(merged);
+            }
+        }
+
+        int[] candidatesFor(String line) {
+            Node node = this;
+            for (int i = 0; i < line.length(); i++) {
+                Node child = node.child(line.charAt(i));
+                if (child == null) {
+                    break;
+                }
+                node = child;
+            }
+            return node.candidates;
+        }
+
+        private Node child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node child = child(label);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                labels[labels.length - 1] = label;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] result = Arrays.copyOf(values, values.length + 1);
+            result[values.length] = value;
+            return result;
+        }
+
+    }
+
+}
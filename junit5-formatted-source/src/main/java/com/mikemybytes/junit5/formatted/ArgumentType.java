@@ -0,0 +1,185 @@
+package com.mikemybytes.junit5.formatted;
+
+import com.mikemybytes.junit5.formatted.spi.FormatRules;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Type hint of the argument placeholder (e.g. {@code {0:int}} or {@code ?:int}). Typed placeholders match only the
+ * values of their type, so the line could be split without ambiguity, and deliver already parsed values, skipping the
+ * implicit conversion of JUnit.
+ *
+ * <p>Type names, along with the rules telling which adjacent types are ambiguous, are defined by {@link FormatRules},
+ * shared with the annotation processor.</p>
+ *
+ * <p>Each type defines both greedy and possessive variant of its regular expression. Possessive quantifiers never give
+ * back the matched characters, so they are used only when it cannot change the result: when the text following the
+ * placeholder does not start with any of the characters matched by the type.</p>
+ */
+enum ArgumentType {
+
+    /**
+     * Untyped placeholder matching any text.
+     */
+    TEXT(FormatRules.UNTYPED, ".*", ".*+", ArgumentType::isAnyCharacter) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return line.substring(start, end);
+        }
+    },
+    INT(FormatRules.INT, "[+-]?\\d+", "[+-]?+\\d++", ArgumentType::isIntegerCharacter) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return Integer.parseInt(line, start, end, 10);
+        }
+    },
+    LONG(FormatRules.LONG, "[+-]?\\d+", "[+-]?+\\d++", ArgumentType::isIntegerCharacter) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return Long.parseLong(line, start, end, 10);
+        }
+    },
+    DOUBLE(FormatRules.DOUBLE,
+            ArgumentType.DECIMAL_REGEX,
+            ArgumentType.POSSESSIVE_DECIMAL_REGEX,
+            ArgumentType::isDecimalCharacter
+    ) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return Double.valueOf(line.substring(start, end));
+        }
+    },
+    DECIMAL(FormatRules.DECIMAL,
+            ArgumentType.DECIMAL_REGEX,
+            ArgumentType.POSSESSIVE_DECIMAL_REGEX,
+            ArgumentType::isDecimalCharacter
+    ) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return new BigDecimal(line.substring(start, end));
+        }
+    },
+    BOOLEAN(FormatRules.BOOLEAN, "(?i:true|false)", "(?i:true|false)", ArgumentType::isAnyCharacter) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return end - start == 4 && line.regionMatches(true, start, "true", 0, 4);
+        }
+    },
+    /**
+     * Single word (a sequence of non-whitespace characters), processed just like the untyped values.
+     */
+    WORD(FormatRules.WORD, "\\S+", "\\S++", ArgumentType::isWordCharacter) {
+        @Override
+        Object parse(String line, int start, int end) {
+            return line.substring(start, end);
+        }
+    };
+
+    private static final String DECIMAL_REGEX = "[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:[eE][+-]?\\d+)?";
+    private static final String POSSESSIVE_DECIMAL_REGEX =
+            "[+-]?+(?:\\d++(?:\\.\\d*+)?+|\\.\\d++)(?:[eE][+-]?+\\d++)?+";
+
+    private final String name;
+    private final String regex;
+    private final String possessiveRegex;
+    private final CharacterPredicate matchedCharacter;
+
+    ArgumentType(String name, String regex, String possessiveRegex, CharacterPredicate matchedCharacter) {
+        this.name = name;
+        this.regex = regex;
+        this.possessiveRegex = possessiveRegex;
+        this.matchedCharacter = matchedCharacter;
+    }
+
+    /**
+     * Returns the type with the given name (as used in the format string).
+     *
+     * @throws IllegalArgumentException when there's no such type
+     */
+    static ArgumentType fromName(String name) {
+        for (ArgumentType type : values()) {
+            if (type != TEXT && type.name.equals(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unsupported argument type: " + name + " (supported types: " + names(", ") + ")"
+        );
+    }
+
+    /**
+     * Returns names of all the supported types, joined with the given delimiter.
+     */
+    static String names(String delimiter) {
+        return Arrays.stream(values())
+                .filter(type -> type != TEXT)
+                .map(type -> type.name)
+                .collect(Collectors.joining(delimiter));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the regular expression matching values of this type.
+     *
+     * @param nextLiteral literal part of the format directly following the placeholder
+     * @param last        whether the placeholder is the last element of the format
+     */
+    String regexFollowedBy(String nextLiteral, boolean last) {
+        boolean unambiguous = nextLiteral.isEmpty() ? last : !matchedCharacter.test(nextLiteral.charAt(0));
+        return unambiguous ? possessiveRegex : regex;
+    }
+
+    /**
+     * Whether the boundary between the value of this type and the value of the directly following (adjacent)
+     * placeholder of the given type is ambiguous (see {@link FormatRules#isAmbiguousBefore}).
+     */
+    boolean isAmbiguousBefore(ArgumentType next) {
+        return FormatRules.isAmbiguousBefore(name, next.name);
+    }
+
+    /**
+     * Whether the values of this type are processed like the untyped ones (quotes, {@code null} values etc.).
+     */
+    boolean isTextual() {
+        return this == TEXT || this == WORD;
+    }
+
+    /**
+     * Parses the value of this type, which has been previously matched with its regular expression.
+     *
+     * @throws IllegalArgumentException when the value does not fit the type (e.g. {@code int} overflow)
+     */
+    abstract Object parse(String line, int start, int end);
+
+    private static boolean isAnyCharacter(char c) {
+        return true;
+    }
+
+    private static boolean isIntegerCharacter(char c) {
+        return (c >= '0' && c <= '9') || c == '+' || c == '-';
+    }
+
+    private static boolean isDecimalCharacter(char c) {
+        return isIntegerCharacter(c) || c == '.' || c == 'e' || c == 'E';
+    }
+
+    /**
+     * Equivalent of {@code \S} in the {@link java.util.regex.Pattern} default mode.
+     */
+    private static boolean isWordCharacter(char c) {
+        return c != ' ' && c != '\t' && c != '\n' && c != 0x0B && c != '\f' && c != '\r';
+    }
+
+    @FunctionalInterface
+    private interface CharacterPredicate {
+
+        boolean test(char c);
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.mikemybytes.junit5.formatted;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * JDK Flight Recorder event aggregating the extraction of test arguments for a single test method. Disabled by default.
+ *
+ * <p>Test cases are being executed while the arguments stream is being consumed, so the event duration covers both
+ * the extraction and the test execution. {@link #extractionTime} tells how much of it was spent on the extraction
+ * itself.</p>
+ */
+@Name(ArgumentsExtractionEvent.NAME)
+@Label("Arguments Extraction")
+@Description("Extraction of the test arguments out of the test case input lines for a single test method")
+@Category(FormatAnalysisEvent.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class ArgumentsExtractionEvent extends Event {
+
+    static final String NAME = "com.mikemybytes.junit5.formatted.ArgumentsExtraction";
+
+    @Label("Test Method")
+    String testMethod;
+
+    @Label("Format")
+    String format;
+
+    @Label("Line Count")
+    long lineCount;
+
+    @Label("Input Characters")
+    @Description("Total length of the extracted input lines")
+    long inputCharacters;
+
+    @Label("Extraction Time")
+    @Description("Time spent on matching the input lines and processing the argument values")
+    @Timespan(Timespan.NANOSECONDS)
+    long extractionTime;
+
+    /**
+     * Records the event for the arguments stream created by the given supplier. When the event is disabled, the
+     * stream is returned as is, without any extra per-line work. Should be called only when
+     * {@link FlightRecorderSupport#AVAILABLE}.
+     */
+    static Stream<Arguments> record(
+            String testMethod,
+            String format,
+            ArgumentsExtractor extractor,
+            Supplier<Stream<Arguments>> arguments) {
+        var event = new ArgumentsExtractionEvent();
+        if (!event.isEnabled()) {
+            return arguments.get();
+        }
+
+        event.begin();
+        ArgumentsExtractor.Statistics statistics = extractor.recordStatistics();
+        return arguments.get().onClose(() -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.testMethod = testMethod;
+                event.format = format;
+                event.lineCount = statistics.getLineCount();
+                event.inputCharacters = statistics.getInputCharacters();
+                event.extractionTime = statistics.getExtractionTime();
+                event.commit();
+            }
+        });
+    }
+
+}
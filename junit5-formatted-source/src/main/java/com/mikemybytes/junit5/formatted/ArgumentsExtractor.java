@@ -2,95 +2,265 @@ package com.mikemybytes.junit5.formatted;
 
 import org.junit.jupiter.params.provider.Arguments;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import static com.mikemybytes.junit5.formatted.Preconditions.require;
 
 /**
  * Extracts test arguments from the provided input.
+ *
+ * <p>As the extraction is being performed for every single input line, everything that does not depend on the line
+ * itself (the extraction plan) is computed once, while creating the extractor. Argument values are being processed
+ * using their boundaries within the line, so the only per-value allocation is the final substring. Values of the typed
+ * arguments (see {@link ArgumentType}) are parsed directly from the line instead.</p>
  */
 class ArgumentsExtractor {
 
-    private final FormattedSourceData sourceData;
+    private final LineMatcher lineMatcher;
     private final FormatSpecification formatSpecification;
     private final RawArgumentsProcessor rawArgumentsProcessor;
+    private final int argumentCount;
+    /**
+     * Types of the arguments (indexed by the argument index) or {@code null} if none of them is typed.
+     */
+    private final ArgumentType[] argumentTypes;
+    private final boolean ignoreWhitespaces;
+    private final char quoteCharacter;
+    private final String[] nullValues;
+    private final String emptyValue;
+    /**
+     * Reusable buffers for argument value boundaries (see {@link LineMatcher#match}).
+     */
+    private final ThreadLocal<int[]> boundsBuffers;
+    /**
+     * Extraction statistics - only collected when requested via {@link #recordStatistics()}.
+     */
+    private volatile Statistics statistics;
+    /**
+     * Interning table of argument values - only used when enabled via {@link #internValues}.
+     */
+    private volatile ValueInterner valueInterner;
+    /**
+     * Maximum number of characters read while matching a single line - unlimited unless set via
+     * {@link #limitMatchSteps}.
+     */
+    private volatile long matchBudget;
 
     ArgumentsExtractor(
             FormattedSourceData sourceData,
             FormatSpecification formatSpecification,
             RawArgumentsProcessor rawArgumentsProcessor) {
-        this.sourceData = sourceData;
+        this.lineMatcher = formatSpecification.getLineMatcher();
         this.formatSpecification = formatSpecification;
         this.rawArgumentsProcessor = rawArgumentsProcessor;
+        this.argumentCount = formatSpecification.getArgumentsOrder().size();
+        this.argumentTypes = formatSpecification.getArgumentTypes().stream().allMatch(ArgumentType::isTextual)
+                ? null
+                : formatSpecification.getArgumentTypes().toArray(new ArgumentType[0]);
+        this.ignoreWhitespaces = sourceData.isIgnoreWhitespaces();
+        this.quoteCharacter = sourceData.getQuoteCharacter();
+        this.nullValues = sourceData.getNullValues().toArray(new String[0]);
+        this.emptyValue = sourceData.getEmptyValue();
+        this.boundsBuffers = ThreadLocal.withInitial(() -> new int[2 * argumentCount]);
     }
 
     Arguments extract(String line) {
-        var formatMatcher = formatSpecification.getPattern().matcher(line);
+        return toArguments(line, extractValues(line));
+    }
+
+    /**
+     * Extracts argument values out of the given line, without applying the {@link RawArgumentsProcessor}.
+     *
+     * @return values of the arguments (strings or {@code null} references) ordered by the argument index
+     */
+    Object[] extractValues(String line) {
+        Statistics currentStatistics = statistics;
+        if (currentStatistics == null) {
+            return doExtractValues(line);
+        }
+        long start = System.nanoTime();
+        try {
+            return doExtractValues(line);
+        } finally {
+            currentStatistics.record(line.length(), System.nanoTime() - start);
+        }
+    }
 
-        require(formatMatcher.matches(), "Input does not match the expected format");
+    private Object[] doExtractValues(String line) {
+        int[] bounds = boundsBuffers.get();
 
-        List<String> args = formatSpecification.getArgumentsOrder().stream()
-                .map(argIndex -> new ArgumentIndexMatcher(argIndex, new FormatArgumentMatcherGroup(argIndex)))
-                .sorted(Comparator.comparing(ArgumentIndexMatcher::getIndex))
-                .map(aim -> formatMatcher.group(aim.getMatcherGroup().getName()))
-                .map(this::processArgumentValue)
-                .collect(Collectors.toList());
+        long budget = matchBudget;
+        boolean matches = budget > 0 ? lineMatcher.match(line, bounds, budget) : lineMatcher.match(line, bounds);
+        require(matches, "Input does not match the expected format");
 
-        List<Object> processedArgs = rawArgumentsProcessor.apply(line, args);
+        ValueInterner interner = valueInterner;
+        Object[] args = new Object[argumentCount];
+        for (int i = 0; i < argumentCount; i++) {
+            if (bounds[2 * i] < 0) {
+                // omitted by one of the alternative formats
+                args[i] = null;
+            } else if (argumentTypes == null || argumentTypes[i].isTextual()) {
+                args[i] = processArgumentValue(line, bounds[2 * i], bounds[2 * i + 1], interner);
+            } else {
+                args[i] = parseTypedValue(i, line, bounds[2 * i], bounds[2 * i + 1]);
+            }
+        }
+        return args;
+    }
 
-        return Arguments.of(processedArgs.toArray());
+    private Object parseTypedValue(int argumentIndex, String line, int start, int end) {
+        ArgumentType type = argumentTypes[argumentIndex];
+        try {
+            return type.parse(line, start, end);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Invalid " + type.getName() + " value of argument " + argumentIndex + ": "
+                            + line.substring(start, end),
+                    e
+            );
+        }
     }
 
-    private String processArgumentValue(String rawValue) {
-        require(rawValue != null, "Argument's raw value can't be null");
+    /**
+     * Creates test {@link Arguments} out of the values previously returned by {@link #extractValues}.
+     */
+    Arguments toArguments(String line, Object[] values) {
+        return Arguments.of(rawArgumentsProcessor.apply(line, values));
+    }
 
-        String value = rawValue;
-        if (sourceData.isIgnoreWhitespaces()) {
-            value = value.strip();
+    /**
+     * Returns a string describing everything that affects the values returned by {@link #extractValues}, except the
+     * input line itself. Two extractors with the same fingerprint produce the same values for the same input.
+     */
+    String fingerprint() {
+        String[] sortedNullValues = nullValues.clone();
+        Arrays.sort(sortedNullValues);
+        return String.join("\u0000",
+                formatSpecification.getPattern().pattern() + formatSpecification.getArgumentsOrder()
+                        + formatSpecification.getArgumentTypes(),
+                formatSpecification.getAlternatives().stream()
+                        .map(alternative -> alternative.getSpecification().getPattern().pattern()
+                                + alternative.getSpecification().getArgumentsOrder())
+                        .collect(Collectors.joining("\u0000")),
+                String.valueOf(ignoreWhitespaces),
+                String.valueOf(quoteCharacter),
+                String.join("\u0000", sortedNullValues),
+                String.valueOf(sortedNullValues.length),
+                emptyValue
+        );
+    }
+
+    /**
+     * Starts collecting extraction statistics. Should be called before extracting the first line.
+     */
+    Statistics recordStatistics() {
+        if (statistics == null) {
+            statistics = new Statistics();
         }
+        return statistics;
+    }
 
-        if (value.isEmpty()) {
+    /**
+     * Enables interning of the extracted argument values, using a table of the given maximum size. Should be called
+     * before extracting the first line.
+     */
+    void internValues(int maxSize) {
+        valueInterner = new ValueInterner(maxSize);
+    }
+
+    /**
+     * Limits the number of characters read while matching a single line with a regular expression. Lines exceeding
+     * the limit are rejected with {@link IllegalArgumentException}. Should be called before extracting the first line.
+     */
+    void limitMatchSteps(long budget) {
+        require(budget > 0, "Match budget must be positive");
+        matchBudget = budget;
+    }
+
+    /**
+     * Restores the (non-null) argument value out of its string representation, as previously returned by
+     * {@link #extractValues}. Typed values are parsed again, while the others are interned (when enabled).
+     */
+    Object restoreValue(int argumentIndex, String value) {
+        if (argumentTypes != null && !argumentTypes[argumentIndex].isTextual()) {
+            return parseTypedValue(argumentIndex, value, 0, value.length());
+        }
+        ValueInterner interner = valueInterner;
+        return interner != null ? interner.intern(value, 0, value.length()) : value;
+    }
+
+    private String processArgumentValue(String line, int start, int end, ValueInterner interner) {
+        if (ignoreWhitespaces) {
+            // equivalent of String::strip (whitespaces are never represented by surrogate pairs)
+            while (start < end && Character.isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+        }
+
+        if (start == end) {
             // interpreting unquoted empty value as null just like @CsvSource does
             return null;
         }
 
-        String quote = "" + sourceData.getQuoteCharacter();
-        if (value.startsWith(quote) && value.endsWith(quote)) {
-            value = value.substring(1, value.length() - 1);
+        if (end - start >= 2 && line.charAt(start) == quoteCharacter && line.charAt(end - 1) == quoteCharacter) {
+            start++;
+            end--;
         }
 
-        if (sourceData.getNullValues().contains(value)) {
+        if (isNullValue(line, start, end)) {
             return null;
         }
 
-        if(value.isEmpty()) {
-            return sourceData.getEmptyValue();
+        if (start == end) {
+            return emptyValue;
         }
 
-        return value;
+        return interner != null ? interner.intern(line, start, end) : line.substring(start, end);
+    }
+
+    private boolean isNullValue(String line, int start, int end) {
+        int length = end - start;
+        for (String nullValue : nullValues) {
+            if (nullValue.length() == length && line.startsWith(nullValue, start)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Represents a tuple containing argument's index (position, starting from zero) and it's respective
-     * {@link FormatArgumentMatcherGroup}, to allow capturing its value.
+     * Aggregated statistics of the extracted lines. Safe to be updated concurrently.
      */
-    private static class ArgumentIndexMatcher {
-        private final int index;
-        private final FormatArgumentMatcherGroup matcherGroup;
+    static final class Statistics {
+
+        private final LongAdder lineCount = new LongAdder();
+        private final LongAdder inputCharacters = new LongAdder();
+        private final LongAdder extractionTime = new LongAdder();
+
+        private void record(int lineLength, long nanos) {
+            lineCount.increment();
+            inputCharacters.add(lineLength);
+            extractionTime.add(nanos);
+        }
 
-        public ArgumentIndexMatcher(int index, FormatArgumentMatcherGroup matcherGroup) {
-            this.index = index;
-            this.matcherGroup = matcherGroup;
+        long getLineCount() {
+            return lineCount.sum();
         }
 
-        public int getIndex() {
-            return index;
+        long getInputCharacters() {
+            return inputCharacters.sum();
         }
 
-        public FormatArgumentMatcherGroup getMatcherGroup() {
-            return matcherGroup;
+        /**
+         * Returns the total extraction time in nanoseconds.
+         */
+        long getExtractionTime() {
+            return extractionTime.sum();
         }
 
     }
@@ -0,0 +1,201 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.opentest4j.TestAbortedException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Turns the test case input lines into a stream of test arguments, according to the {@link FormattedSourceConfiguration}.
+ * Shared by all the argument providers.
+ */
+class ArgumentsStreamFactory {
+
+    /**
+     * Key of the report entry with the number of test cases dropped by the {@link Deduplication} (followed by the
+     * dropped test cases themselves, one per line).
+     */
+    static final String DUPLICATES_REPORT_KEY = "formattedsource.duplicates";
+
+    private ArgumentsStreamFactory() {
+        // static only
+    }
+
+    /**
+     * Creates a stream of test arguments for the current test method, configured via the configuration parameters
+     * available in the given context.
+     *
+     * @param context    current extension context
+     * @param sourceData source data of the test method
+     * @param lines      supplier of the test case input lines (each returned stream will be closed once consumed)
+     * @param extractor  extractor used to extract test arguments out of each line
+     */
+    static Stream<Arguments> create(
+            ExtensionContext context,
+            FormattedSourceData sourceData,
+            Supplier<Stream<String>> lines,
+            ArgumentsExtractor extractor) {
+        var configuration = FormattedSourceConfiguration.from(context);
+        Supplier<Stream<Arguments>> extracted = () -> create(lines, extractor, configuration);
+        Stream<Arguments> arguments = FlightRecorderSupport.AVAILABLE
+                ? ArgumentsExtractionEvent.record(
+                        FlightRecorderSupport.describe(context.getRequiredTestMethod()),
+                        sourceData.getFormatString(),
+                        extractor,
+                        extracted)
+                : extracted.get();
+        if (configuration.isDeduplicationEnabled()) {
+            var deduplication = new Deduplication();
+            arguments = deduplication.apply(arguments).onClose(() -> context.publishReportEntry(
+                    DUPLICATES_REPORT_KEY, describeDuplicates(deduplication)
+            ));
+        }
+        if (sourceData.isBatched()) {
+            arguments = batch(arguments, sourceData.getBatchSize());
+        }
+        Optional<Duration> timeBudget = configuration.getTimeBudget();
+        return timeBudget.isPresent() ? TimeBudget.apply(context, timeBudget.get(), arguments) : arguments;
+    }
+
+    /**
+     * Describes the number of dropped test cases, followed by each of them in a separate line.
+     */
+    private static String describeDuplicates(Deduplication deduplication) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.valueOf(deduplication.getDroppedCount()));
+        lines.addAll(deduplication.getDropped());
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Creates a stream of test arguments.
+     *
+     * @param lines         supplier of the test case input lines (each returned stream will be closed once consumed)
+     * @param extractor     extractor used to extract test arguments out of each line
+     * @param configuration configuration affecting the extraction
+     */
+    static Stream<Arguments> create(
+            Supplier<Stream<String>> lines,
+            ArgumentsExtractor extractor,
+            FormattedSourceConfiguration configuration) {
+        Supplier<Stream<String>> selectedLines = selectLines(lines, configuration);
+        configuration.getInterningMaxSize().ifPresent(extractor::internValues);
+        configuration.getMatchBudget().ifPresent(extractor::limitMatchSteps);
+
+        Optional<Path> cacheDirectory = configuration.getCacheDirectory();
+        if (cacheDirectory.isPresent()) {
+            return new ParsedArgumentsCache(cacheDirectory.get()).get(selectedLines, extractor);
+        }
+        if (configuration.isParallelParsingEnabled()) {
+            return parseInParallel(selectedLines.get(), extractor);
+        }
+        // lines are being parsed lazily, as JUnit requests next test case
+        return selectedLines.get().map(extractor::extract);
+    }
+
+    /**
+     * Limits the input lines to the ones that should be executed by this JVM: its {@link Shard} and then the
+     * {@link Sampling} of it. The test method gets aborted (reported as skipped) when nothing has been selected, as
+     * JUnit fails parameterized tests without any arguments.
+     */
+    private static Supplier<Stream<String>> selectLines(
+            Supplier<Stream<String>> lines,
+            FormattedSourceConfiguration configuration) {
+        Optional<Shard> shard = configuration.getShard();
+        Optional<Sampling> sampling = configuration.getSampling();
+        if (shard.isEmpty() && sampling.isEmpty()) {
+            return lines;
+        }
+        return () -> {
+            Stream<String> selected = lines.get();
+            if (shard.isPresent()) {
+                selected = selected.filter(shard.get()::contains);
+            }
+            selected = sampling.isPresent() ? sampling.get().apply(selected) : selected;
+            String selection = Stream.of(shard, sampling)
+                    .flatMap(Optional::stream)
+                    .map(Object::toString)
+                    .collect(Collectors.joining(" and "));
+            return abortWhenEmpty(selected, selection);
+        };
+    }
+
+    private static Stream<String> abortWhenEmpty(Stream<String> lines, String selection) {
+        Iterator<String> iterator = lines.iterator();
+        var spliterator = new Spliterators.AbstractSpliterator<String>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean empty = true;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (iterator.hasNext()) {
+                    empty = false;
+                    action.accept(iterator.next());
+                    return true;
+                }
+                if (empty) {
+                    throw new TestAbortedException("No test cases selected by the " + selection);
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(lines::close);
+    }
+
+    /**
+     * Lazily groups arguments consisting of single {@link FormattedRow}s into {@link FormattedRows} batches of the given
+     * size (except the last one). Each batch is named after the test cases it contains.
+     */
+    static Stream<Arguments> batch(Stream<Arguments> rows, int batchSize) {
+        Iterator<Arguments> iterator = rows.iterator();
+        var spliterator = new Spliterators.AbstractSpliterator<Arguments>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Arguments> action) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                List<FormattedRow> batch = new ArrayList<>(Math.min(batchSize, 1024));
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add((FormattedRow) iterator.next().get()[0]);
+                }
+                var formattedRows = new FormattedRows(batch);
+                action.accept(Arguments.of(Named.of(formattedRows.describe(), formattedRows)));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Parses all the lines up front using the fork-join pool, preserving their original order. Input lines are never
+     * materialized as a whole - array-based sources are sized, while text blocks and files are split into chunks of
+     * similar length by their spliterators.
+     */
+    private static Stream<Arguments> parseInParallel(Stream<String> lines, ArgumentsExtractor extractor) {
+        List<Arguments> arguments;
+        try (lines) {
+            arguments = lines.parallel()
+                    .map(extractor::extract)
+                    .collect(Collectors.toList());
+        }
+        return arguments.stream();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mikemybytes.junit5.formatted;
+
+/**
+ * {@link CharSequence} wrapper counting the characters read out of it, used to limit the work of the (backtracking)
+ * regular expressions engine on a single line. Each {@link #charAt} call consumes a single step of the budget. Once it
+ * is exhausted, {@link BudgetExceededException} is thrown, aborting the match.
+ *
+ * <p>Instances are mutable, so they could be reused for subsequent lines (see {@link #reset}). Not thread-safe.</p>
+ */
+final class BudgetedCharSequence implements CharSequence {
+
+    private String text = "";
+    private long remainingSteps;
+
+    /**
+     * Starts reading the given text, limited to the given number of steps.
+     */
+    BudgetedCharSequence reset(String text, long steps) {
+        this.text = text;
+        this.remainingSteps = steps;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (--remainingSteps < 0) {
+            throw BudgetExceededException.INSTANCE;
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Thrown when the budget is exhausted. Being a control flow signal only, it is preallocated and has no stack trace.
+     */
+    static final class BudgetExceededException extends RuntimeException {
+
+        private static final BudgetExceededException INSTANCE = new BudgetExceededException();
+
+        private BudgetExceededException() {
+            super("Match budget exceeded", null, false, false);
+        }
+
+    }
+
+}
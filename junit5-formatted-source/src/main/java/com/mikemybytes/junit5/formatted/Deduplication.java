@@ -0,0 +1,113 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Drops test cases with the same argument values as one of the previous test cases. Values are compared after all the
+ * normalization performed by the {@link ArgumentsExtractor} (whitespace stripping, quote removal, null and empty value
+ * handling), so lines differing only in formatting are considered duplicates as well.
+ *
+ * <p>Instead of keeping the values themselves, only their 64-bit fingerprints are stored in a {@link LongHashSet}. This
+ * keeps the memory usage at a few bytes per test case, at the cost of a small probability of treating two different
+ * test cases as duplicates (about n^2 / 2^65 for n test cases, so roughly 1 in 3.7 * 10^7 for a million of them).
+ * As such a collision could not be told apart from a real duplicate, every dropped test case is remembered (see
+ * {@link #getDropped()}), so it could be reported.</p>
+ */
+final class Deduplication {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final LongHashSet fingerprints = new LongHashSet();
+    private final List<String> dropped = new ArrayList<>();
+
+    /**
+     * Applies deduplication to the given (sequentially consumed) arguments stream.
+     */
+    Stream<Arguments> apply(Stream<Arguments> arguments) {
+        return arguments.filter(this::isUnique);
+    }
+
+    /**
+     * Returns the number of dropped test cases so far.
+     */
+    long getDroppedCount() {
+        return dropped.size();
+    }
+
+    /**
+     * Returns descriptions of the dropped test cases so far (their argument values), in the order of dropping.
+     */
+    List<String> getDropped() {
+        return Collections.unmodifiableList(dropped);
+    }
+
+    private boolean isUnique(Arguments arguments) {
+        Object[] values = arguments.get();
+        if (fingerprints.add(fingerprint(values))) {
+            return true;
+        }
+        dropped.add(describe(values));
+        return false;
+    }
+
+    private static String describe(Object[] values) {
+        return Arrays.stream(values)
+                .map(Deduplication::payload)
+                .map(payload -> payload instanceof FormattedRow ? ((FormattedRow) payload).getLine() : payload)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * Computes 64-bit FNV-1a hash of all the values (including their lengths, so values could not be shifted between
+     * the arguments), finalized with SplitMix64 for a better distribution of the {@link LongHashSet} slots.
+     */
+    static long fingerprint(Object[] values) {
+        long hash = hash(FNV_OFFSET_BASIS, values);
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static long hash(long hash, Object[] values) {
+        for (Object value : values) {
+            Object payload = payload(value);
+            if (payload instanceof FormattedRow) {
+                // batch mode - comparing the values, not the input lines
+                hash = hash(hash, ((FormattedRow) payload).getValues());
+            } else if (payload == null) {
+                hash = (hash ^ 0xFF) * FNV_PRIME;
+            } else if (payload instanceof String) {
+                hash = hash(hash, (String) payload);
+            } else {
+                // converted values - their string representation carries more than the 32-bit hash code
+                hash = hash(hash, payload.getClass().getName());
+                hash = hash(hash, payload.toString());
+            }
+            hash = (hash ^ 0xFE) * FNV_PRIME; // value separator
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String text) {
+        hash = (hash ^ text.length()) * FNV_PRIME;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static Object payload(Object value) {
+        return value instanceof Named ? ((Named<?>) value).getPayload() : value;
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Provides lines of files and classpath resources as lazy streams. Underlying files remain open until the returned
+ * stream gets closed.
+ *
+ * <p>Inputs with names ending with {@value #GZIP_EXTENSION} are being decompressed on the fly, without creating any
+ * temporary files or inflating the whole content in memory.</p>
+ */
+class FileLines {
+
+    static final String GZIP_EXTENSION = ".gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FileLines() {
+        // static only
+    }
+
+    /**
+     * Streams lines of the given file, using {@link MappedFileLineReader} for uncompressed files.
+     *
+     * @param path    path to the file
+     * @param charset charset used to decode the file content
+     */
+    static Stream<String> ofFile(Path path, Charset charset) {
+        try {
+            if (isCompressed(path.toString())) {
+                return ofInputStream(Files.newInputStream(path), path.toString(), charset);
+            }
+            var reader = new MappedFileLineReader(path, charset);
+            return stream(reader::readLine, reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read file: " + path, e);
+        }
+    }
+
+    /**
+     * Streams lines of the given classpath resource. Resources available directly on the file system are memory-mapped,
+     * while others (e.g. packed into JAR files) are being read sequentially. Compressed JAR entries are being inflated
+     * by the JDK on the fly as well.
+     *
+     * @param testClass class used to resolve the resource (just like {@link Class#getResource})
+     * @param resource  classpath resource name
+     * @param charset   charset used to decode the resource content
+     */
+    static Stream<String> ofResource(Class<?> testClass, String resource, Charset charset) {
+        URL url = testClass.getResource(resource);
+        require(url != null, () -> "Classpath resource does not exist: " + resource);
+
+        if ("file".equals(url.getProtocol())) {
+            return ofFile(toPath(url), charset);
+        }
+        try {
+            return ofInputStream(url.openStream(), resource, charset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read classpath resource: " + resource, e);
+        }
+    }
+
+    /**
+     * Streams lines read from the given reader. The reader gets closed together with the returned stream.
+     *
+     * @param reader source of the lines
+     */
+    static Stream<String> ofReader(Reader reader) {
+        var bufferedReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader, BUFFER_SIZE);
+        return stream(bufferedReader::readLine, bufferedReader);
+    }
+
+    /**
+     * Concatenates lines of the given inputs, opening each of them lazily and closing it as soon as all of its lines
+     * are consumed (or the returned stream gets closed).
+     *
+     * <p>Unlike {@link Stream#flatMap}, the returned stream stays lazy when consumed via its iterator (as JUnit does),
+     * instead of buffering all the lines of each input in memory.</p>
+     *
+     * @param inputs suppliers of the input lines, called in the given order
+     */
+    static Stream<String> concat(List<Supplier<Stream<String>>> inputs) {
+        var spliterator = new Spliterators.AbstractSpliterator<String>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Iterator<Supplier<Stream<String>>> remaining = inputs.iterator();
+            private Stream<String> current;
+            private Spliterator<String> currentLines;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                while (currentLines == null || !currentLines.tryAdvance(action)) {
+                    close();
+                    if (!remaining.hasNext()) {
+                        return false;
+                    }
+                    current = remaining.next().get();
+                    currentLines = current.spliterator();
+                }
+                return true;
+            }
+
+            void close() {
+                if (current != null) {
+                    current.close();
+                    current = null;
+                    currentLines = null;
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::close);
+    }
+
+    private static Stream<String> ofInputStream(InputStream input, String name, Charset charset) throws IOException {
+        try {
+            InputStream decompressed = isCompressed(name) ? new GZIPInputStream(input, BUFFER_SIZE) : input;
+            var reader = new BufferedReader(new InputStreamReader(decompressed, charset), BUFFER_SIZE);
+            return stream(reader::readLine, reader);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    private static boolean isCompressed(String name) {
+        return name.endsWith(GZIP_EXTENSION);
+    }
+
+    private static Path toPath(URL url) {
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid resource location: " + url, e);
+        }
+    }
+
+    private static Stream<String> stream(LineSource source, Closeable closeable) {
+        var spliterator = new Spliterators.AbstractSpliterator<String>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                String line = readLine(source);
+                if (line == null) {
+                    return false;
+                }
+                action.accept(line);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> close(closeable));
+    }
+
+    private static String readLine(LineSource source) {
+        try {
+            return source.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineSource {
+        String readLine() throws IOException;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.lang.reflect.Method;
+
+/**
+ * Tells whether the JDK Flight Recorder events could be emitted. The {@code jdk.jfr} module is optional: it might be
+ * missing from custom runtime images or not resolved at all when the library runs as a named module. Event classes
+ * extend {@code jdk.jfr.Event}, so they must not be touched (not even loaded) unless the module is {@link #AVAILABLE}.
+ */
+final class FlightRecorderSupport {
+
+    static final boolean AVAILABLE = ModuleLayer.boot()
+            .findModule("jdk.jfr")
+            .map(FlightRecorderSupport.class.getModule()::canRead)
+            .orElse(false);
+
+    private FlightRecorderSupport() {
+        // static only
+    }
+
+    /**
+     * Describes the given test method as {@code <class name>#<method name>}.
+     */
+    static String describe(Method testMethod) {
+        return testMethod.getDeclaringClass().getName() + "#" + testMethod.getName();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.mikemybytes.junit5.formatted;
+
+/**
+ * One of the alternative formats of a single data set (see {@link AlternativeFormats}), analyzed with
+ * {@link FormatAnalyzer#analyzeAlternative}.
+ */
+class FormatAlternative {
+
+    /**
+     * Format string as defined in the annotation.
+     */
+    private final String formatString;
+    /**
+     * Literal part of the format preceding its first placeholder - every line in this format starts with it.
+     */
+    private final String leadingLiteral;
+    /**
+     * Specification of the format, referring to the arguments by their indexes within the whole data set (some of
+     * them might be omitted).
+     */
+    private final FormatSpecification specification;
+
+    FormatAlternative(String formatString, String leadingLiteral, FormatSpecification specification) {
+        this.formatString = formatString;
+        this.leadingLiteral = leadingLiteral;
+        this.specification = specification;
+    }
+
+    String getFormatString() {
+        return formatString;
+    }
+
+    String getLeadingLiteral() {
+        return leadingLiteral;
+    }
+
+    FormatSpecification getSpecification() {
+        return specification;
+    }
+
+}
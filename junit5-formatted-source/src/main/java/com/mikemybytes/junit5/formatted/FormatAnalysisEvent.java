@@ -0,0 +1,62 @@
+package com.mikemybytes.junit5.formatted;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.reflect.Method;
+
+/**
+ * JDK Flight Recorder event covering the resolution of the {@link FormatSpecification} for a single test method
+ * (including the format analysis, unless already cached or precompiled). Disabled by default. Used only when
+ * {@link FlightRecorderSupport#AVAILABLE}.
+ */
+@Name(FormatAnalysisEvent.NAME)
+@Label("Format Analysis")
+@Description("Resolution of the format specification for a single test method")
+@Category(FormatAnalysisEvent.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class FormatAnalysisEvent extends Event {
+
+    static final String NAME = "com.mikemybytes.junit5.formatted.FormatAnalysis";
+    static final String CATEGORY = "JUnit 5 FormattedSource";
+
+    @Label("Test Method")
+    String testMethod;
+
+    @Label("Format")
+    String format;
+
+    @Label("Argument Placeholder")
+    String argumentPlaceholder;
+
+    @Label("Precompiled")
+    @Description("Whether the format has been analyzed at compile time")
+    boolean precompiled;
+
+    /**
+     * Creates and begins the event. Should be called only when {@link FlightRecorderSupport#AVAILABLE}.
+     */
+    static FormatAnalysisEvent start() {
+        var event = new FormatAnalysisEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(Method testMethod, FormattedSourceData sourceData, boolean precompiled) {
+        end();
+        if (shouldCommit()) {
+            this.testMethod = FlightRecorderSupport.describe(testMethod);
+            this.format = sourceData.getFormatString();
+            this.argumentPlaceholder = sourceData.getArgumentPlaceholder().orElse(null);
+            this.precompiled = precompiled;
+            commit();
+        }
+    }
+
+}
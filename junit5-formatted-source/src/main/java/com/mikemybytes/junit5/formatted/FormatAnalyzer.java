@@ -8,4 +8,10 @@ interface FormatAnalyzer {
 
     FormatSpecification analyze(String formatString, int methodParameterCount);
 
+    /**
+     * Analyzes one of the {@link AlternativeFormats} of a data set with the given number of arguments. Unlike the main
+     * format, an alternative one may omit some of the arguments.
+     */
+    FormatAlternative analyzeAlternative(String formatString, int argumentCount);
+
 }
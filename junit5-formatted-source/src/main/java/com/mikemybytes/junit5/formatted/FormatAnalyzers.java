@@ -1,5 +1,7 @@
 package com.mikemybytes.junit5.formatted;
 
+import java.util.Optional;
+
 class FormatAnalyzers {
 
     private FormatAnalyzers() {
@@ -7,11 +9,14 @@ class FormatAnalyzers {
     }
 
     static FormatAnalyzer from(FormattedSourceData formattedSourceData) {
-        if (formattedSourceData.getArgumentPlaceholder().isEmpty()) {
+        return from(formattedSourceData.getArgumentPlaceholder());
+    }
+
+    static FormatAnalyzer from(Optional<String> argumentPlaceholder) {
+        if (argumentPlaceholder.isEmpty()) {
             return new IndexedArgumentPlaceholdersFormatAnalyzer(); // default
         } else {
-            String argumentPlaceholder = formattedSourceData.getArgumentPlaceholder().get();
-            return new PositionalArgumentPlaceholdersFormatAnalyzer(argumentPlaceholder);
+            return new PositionalArgumentPlaceholdersFormatAnalyzer(argumentPlaceholder.get());
         }
     }
 
@@ -16,9 +16,18 @@ class FormatArgumentMatcherGroup {
      * Index of the related argument (starting from zero).
      */
     private final int index;
+    /**
+     * Regular expression matching the value itself.
+     */
+    private final String valueRegex;
 
     FormatArgumentMatcherGroup(int index) {
+        this(index, ".*");
+    }
+
+    FormatArgumentMatcherGroup(int index, String valueRegex) {
         this.index = index;
+        this.valueRegex = valueRegex;
     }
 
     /**
@@ -32,7 +41,7 @@ class FormatArgumentMatcherGroup {
      * Returns regular expression representing argument's "named capturing group".
      */
     String getRegex() {
-        return "(?<a" + index + ">.*)";
+        return "(?<" + getName() + ">" + valueRegex + ")";
     }
 
 }
@@ -1,24 +1,125 @@
 package com.mikemybytes.junit5.formatted;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 class FormatSpecification {
 
-    private final Pattern pattern;
+    private final Supplier<Pattern> patternSupplier;
     private final List<Integer> argumentsOrder;
+    private final List<ArgumentType> argumentTypes;
+    private final List<String> ambiguities;
+    private final List<FormatAlternative> alternatives;
+    private final LineMatcher lineMatcher;
+    private volatile Pattern pattern;
 
-    FormatSpecification(Pattern pattern, List<Integer> argumentsOrder) {
+    FormatSpecification(Pattern pattern, List<Integer> argumentsOrder, LineMatcher lineMatcher) {
+        this(
+                pattern,
+                argumentsOrder,
+                Collections.nCopies(argumentsOrder.size(), ArgumentType.TEXT),
+                List.of(),
+                lineMatcher
+        );
+    }
+
+    FormatSpecification(
+            Pattern pattern,
+            List<Integer> argumentsOrder,
+            List<ArgumentType> argumentTypes,
+            List<String> ambiguities,
+            LineMatcher lineMatcher) {
+        this(pattern, argumentsOrder, argumentTypes, ambiguities, List.of(), lineMatcher);
+    }
+
+    /**
+     * Creates specification of the data set defined in several {@link AlternativeFormats}. The pattern, the order and
+     * the types of the arguments are the ones of the main format.
+     */
+    FormatSpecification(
+            Pattern pattern,
+            List<Integer> argumentsOrder,
+            List<ArgumentType> argumentTypes,
+            List<String> ambiguities,
+            List<FormatAlternative> alternatives,
+            LineMatcher lineMatcher) {
+        this(() -> pattern, argumentsOrder, argumentTypes, ambiguities, alternatives, lineMatcher);
         this.pattern = pattern;
+    }
+
+    /**
+     * Creates specification compiling its {@link Pattern} lazily, only when it is actually needed. Used for the formats
+     * analyzed at compile time, where the {@link LineMatcher} does not depend on the pattern.
+     */
+    FormatSpecification(Supplier<Pattern> patternSupplier, List<Integer> argumentsOrder, LineMatcher lineMatcher) {
+        this(
+                patternSupplier,
+                argumentsOrder,
+                Collections.nCopies(argumentsOrder.size(), ArgumentType.TEXT),
+                List.of(),
+                List.of(),
+                lineMatcher
+        );
+    }
+
+    private FormatSpecification(
+            Supplier<Pattern> patternSupplier,
+            List<Integer> argumentsOrder,
+            List<ArgumentType> argumentTypes,
+            List<String> ambiguities,
+            List<FormatAlternative> alternatives,
+            LineMatcher lineMatcher) {
+        this.patternSupplier = patternSupplier;
         this.argumentsOrder = argumentsOrder;
+        this.argumentTypes = argumentTypes;
+        this.ambiguities = ambiguities;
+        this.alternatives = alternatives;
+        this.lineMatcher = lineMatcher;
     }
 
     Pattern getPattern() {
-        return pattern;
+        Pattern result = pattern;
+        if (result == null) {
+            // benign race - the supplier always creates an equivalent pattern
+            result = patternSupplier.get();
+            pattern = result;
+        }
+        return result;
     }
 
     List<Integer> getArgumentsOrder() {
         return argumentsOrder;
     }
 
+    /**
+     * Returns types of the arguments, indexed by the argument index ({@link ArgumentType#TEXT} for untyped ones).
+     */
+    List<ArgumentType> getArgumentTypes() {
+        return argumentTypes;
+    }
+
+    /**
+     * Returns the ambiguities found while analyzing the format (see {@link LinePatternFactory#findAmbiguities}).
+     */
+    List<String> getAmbiguities() {
+        return ambiguities;
+    }
+
+    /**
+     * Returns all the formats of the data set (the main one first), if defined in {@link AlternativeFormats}.
+     * Otherwise, returns an empty list.
+     */
+    List<FormatAlternative> getAlternatives() {
+        return alternatives;
+    }
+
+    /**
+     * Returns {@link LineMatcher} that should be used for extracting argument values from the input lines.
+     */
+    LineMatcher getLineMatcher() {
+        return lineMatcher;
+    }
+
 }
@@ -0,0 +1,170 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * JVM-wide cache of analyzed {@link FormatSpecification} objects. As the analysis result depends only on the format
+ * string (and its alternatives), the argument placeholder mode and the number of method parameters, test methods
+ * sharing the same format (e.g. via meta-annotations) can reuse a single specification instead of compiling the same
+ * regex again.
+ *
+ * <p>The cache is bounded - once {@link #maxSize} is reached, the least recently used entry gets evicted.
+ * {@link FormatSpecification} objects are immutable, so they can be safely shared between threads.</p>
+ */
+final class FormatSpecificationCache {
+
+    /**
+     * Default maximum number of cached specifications.
+     */
+    static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final FormatSpecificationCache SHARED = new FormatSpecificationCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final Map<Key, FormatSpecification> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    FormatSpecificationCache(int maxSize) {
+        require(maxSize > 0, "Cache size must be positive");
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FormatSpecification> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache instance shared by all the argument providers within the JVM.
+     */
+    static FormatSpecificationCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns {@link FormatSpecification} matching the given source data, analyzing its format only when needed.
+     *
+     * @param sourceData           source data defining the format string and the argument placeholder mode
+     * @param methodParameterCount number of parameters of the test method
+     */
+    FormatSpecification get(FormattedSourceData sourceData, int methodParameterCount) {
+        return get(
+                sourceData.getFormatString(),
+                sourceData.getAlternativeFormats(),
+                sourceData.getArgumentPlaceholder(),
+                methodParameterCount
+        );
+    }
+
+    FormatSpecification get(String formatString, Optional<String> argumentPlaceholder, int methodParameterCount) {
+        return get(formatString, List.of(), argumentPlaceholder, methodParameterCount);
+    }
+
+    FormatSpecification get(
+            String formatString,
+            List<String> alternativeFormats,
+            Optional<String> argumentPlaceholder,
+            int methodParameterCount) {
+        var key = new Key(formatString, alternativeFormats, argumentPlaceholder.orElse(null), methodParameterCount);
+
+        FormatSpecification specification;
+        synchronized (entries) {
+            specification = entries.get(key);
+        }
+        if (specification != null) {
+            hits.increment();
+            return specification;
+        }
+
+        misses.increment();
+        // analyzing outside the lock - in the worst case the same format will be analyzed more than once
+        specification = AlternativeFormats.analyze(
+                FormatAnalyzers.from(argumentPlaceholder), formatString, alternativeFormats, methodParameterCount
+        );
+        synchronized (entries) {
+            FormatSpecification existing = entries.putIfAbsent(key, specification);
+            return existing != null ? existing : specification;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Cache key consisting of all the values affecting the result of the format analysis.
+     */
+    private static final class Key {
+        private final String formatString;
+        private final List<String> alternativeFormats;
+        private final String argumentPlaceholder;
+        private final int methodParameterCount;
+
+        Key(
+                String formatString,
+                List<String> alternativeFormats,
+                String argumentPlaceholder,
+                int methodParameterCount) {
+            this.formatString = formatString;
+            this.alternativeFormats = alternativeFormats;
+            this.argumentPlaceholder = argumentPlaceholder;
+            this.methodParameterCount = methodParameterCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return methodParameterCount == key.methodParameterCount
+                    && formatString.equals(key.formatString)
+                    && alternativeFormats.equals(key.alternativeFormats)
+                    && Objects.equals(argumentPlaceholder, key.argumentPlaceholder);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(formatString, alternativeFormats, argumentPlaceholder, methodParameterCount);
+        }
+    }
+
+}
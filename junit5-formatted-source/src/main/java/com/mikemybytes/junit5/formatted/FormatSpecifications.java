@@ -0,0 +1,75 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+class FormatSpecifications {
+
+    /**
+     * Key of the report entries describing ambiguities of the format (see {@link LinePatternFactory#findAmbiguities}).
+     */
+    static final String AMBIGUITY_REPORT_KEY = "formattedsource.ambiguous-format";
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(FormatSpecifications.class);
+
+    private FormatSpecifications() {
+        // static only
+    }
+
+    /**
+     * Returns {@link FormatSpecification} for the current test method. Formats analyzed at compile time are preferred
+     * over the ones analyzed at runtime. The latter are kept in the {@link ExtensionContext.Store} of the test class
+     * (so test methods sharing the same format, e.g. via {@link FormattedSourceFormat}, look it up only once per
+     * class) and in the JVM-wide {@link FormatSpecificationCache}. Ambiguities of the format are published as report
+     * entries of the test method.
+     */
+    static FormatSpecification resolve(ExtensionContext context, FormattedSourceData sourceData) {
+        FormatAnalysisEvent event = FlightRecorderSupport.AVAILABLE ? FormatAnalysisEvent.start() : null;
+
+        Method testMethod = context.getRequiredTestMethod();
+        // in the batch mode, all the arguments are delivered via a single FormattedRows parameter
+        int expectedParameterCount = sourceData.isBatched() ? Integer.MAX_VALUE : testMethod.getParameterCount();
+        // neither alternative formats nor tables are precompiled by the annotation processor
+        Class<?> testClass = testMethod.getDeclaringClass();
+        Optional<FormatSpecification> precompiled = sourceData.isTable()
+                ? Optional.empty()
+                : PrecompiledFormatSpecifications.find(testClass, sourceData, expectedParameterCount);
+        // tables are defined by their header rows, so they are not worth caching
+        FormatSpecification specification = sourceData.isTable()
+                ? TableFormats.analyze(sourceData, testMethod)
+                : precompiled.orElseGet(() -> analyzedFor(context, sourceData, expectedParameterCount));
+
+        if (event != null) {
+            event.finish(testMethod, sourceData, precompiled.isPresent());
+        }
+        for (String ambiguity : specification.getAmbiguities()) {
+            context.publishReportEntry(
+                    AMBIGUITY_REPORT_KEY,
+                    "Ambiguous format \"" + sourceData.getFormatString() + "\": " + ambiguity
+            );
+        }
+        return specification;
+    }
+
+    private static FormatSpecification analyzedFor(
+            ExtensionContext context,
+            FormattedSourceData sourceData,
+            int expectedParameterCount) {
+        var key = List.of(
+                sourceData.getFormatString(),
+                sourceData.getAlternativeFormats(),
+                sourceData.getArgumentPlaceholder().orElse(""),
+                expectedParameterCount
+        );
+        return SharedFormats.classContext(context).getStore(NAMESPACE).getOrComputeIfAbsent(
+                key,
+                k -> FormatSpecificationCache.shared().get(sourceData, expectedParameterCount),
+                FormatSpecification.class
+        );
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.*;
+
+/**
+ * {@code @FormattedFileSource} is an {@link ArgumentsSource} which reads test case arguments from classpath
+ * {@link #resources} or {@link #files}, where each line follows the user-defined {@link #format}.
+ *
+ * <p>Unlike {@link FormattedSource}, the test case input is not limited by the maximum size of the annotation
+ * values. Files are being read lazily, using memory-mapped I/O whenever possible, so even very large inputs don't have
+ * to be loaded onto the heap entirely. Inputs with names ending with {@code .gz} are being decompressed on the fly.</p>
+ *
+ * <p>The supplied values will be provided as arguments to the test method annotated with
+ * {@link org.junit.jupiter.params.ParameterizedTest}.</p>
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(TimeBudgetExecutionCondition.class)
+@ArgumentsSource(FormattedFileSourceArgumentsProvider.class)
+public @interface FormattedFileSource {
+
+    /**
+     * The definition of the arguments format. By default, specific test method arguments must be referenced
+     * by their position (starting from zero). E.g. {@code {2}} represents the 3rd argument of the test method.
+     * <p>Setting {@link #argumentPlaceholder()} disables the default behavior, allowing to use a fixed placeholder
+     * string instead. As there's no braces (curly brackets) escaping, switching to the fixed argument placeholder
+     * allows using them in the format string.</p>
+     *
+     * <p>Could be omitted when the format is declared once for the whole test class (or package) with
+     * {@link FormattedSourceFormat}. In such case, all the format options (like {@link #quoteCharacter()} or
+     * {@link #nullValues()}) come from that declaration as well.</p>
+     *
+     * @return The definition of the arguments format.
+     */
+    String format() default "";
+
+    /**
+     * Alternative definitions of the arguments format, for data sets mixing lines of different shapes. Each line is
+     * matched by the first compatible format: {@link #format()} first, then the alternatives in the declared order.
+     * Alternative formats use the same placeholder syntax, but may omit some of the arguments defined by
+     * {@link #format()} - their values are {@code null} for the lines matched by such formats. E.g. with
+     * {@code format = "{0} + {1} = {2}"} and {@code alternativeFormats = "{0} = {2}"}, the line {@code 5 = 5} results
+     * in arguments {@code 5}, {@code null} and {@code 5}.
+     *
+     * <p>Defaults to {@code {}} (no alternatives).</p>
+     *
+     * @return Alternative definitions of the arguments format.
+     */
+    String[] alternativeFormats() default {};
+
+    /**
+     * Classpath resources containing test case input in the defined {@link #format}. Resources are being resolved
+     * relative to the test class (just like {@link Class#getResource}), unless their names start with {@code /}.
+     * Each line represents a separate test case of the {@link org.junit.jupiter.params.ParameterizedTest}.
+     *
+     * <p>Note: the test case input must be supplied via {@link #resources()} and/or {@link #files()}.</p>
+     *
+     * @return Classpath resources containing test case input.
+     */
+    String[] resources() default {};
+
+    /**
+     * File system paths of the files containing test case input in the defined {@link #format}. Relative paths are
+     * being resolved against the current working directory. Each line represents a separate test case of the
+     * {@link org.junit.jupiter.params.ParameterizedTest}.
+     *
+     * <p>Note: the test case input must be supplied via {@link #resources()} and/or {@link #files()}.</p>
+     *
+     * @return File system paths of the files containing test case input.
+     */
+    String[] files() default {};
+
+    /**
+     * The encoding (charset name) used to read the {@link #resources()} and {@link #files()}.
+     *
+     * <p>Defaults to {@code "UTF-8"}.</p>
+     *
+     * @return Encoding of the test case input.
+     */
+    String encoding() default "UTF-8";
+
+    /**
+     * The quote character that could be used to separate argument's value from the rest of the input.
+     * As there's no escaping support, a different quote character should be chosen in case of a conflict.
+     *
+     * <p>Defaults to a single quote ({@code '}).</p>
+     *
+     * @return Arguments quote character.
+     */
+    char quoteCharacter() default '\'';
+
+    /**
+     * Specifies fixed argument placeholder string that should be used instead of the default indexed syntax.
+     * Each placeholder's occurrence corresponds to the next argument of the annotated test method
+     * (positional arguments).
+     *
+     * @return Custom argument placeholder string.
+     */
+    String argumentPlaceholder() default "";
+
+    /**
+     * Allows to ignore (or not) leading and trailing whitespace characters identified in the argument values.
+     *
+     * <p>Defaults to {@code true}.</p>
+     * @return {@code true} if leading and trailing whitespaces should be ignored, {@code false} otherwise.
+     */
+    boolean ignoreLeadingAndTrailingWhitespace() default true;
+
+    /**
+     * A list of strings that should be interpreted as {@code null} references.
+     *
+     * <p>Provided values (e.g. {@code "null"}, {@code "N/A"}, {@code "NONE"}) will be converted to {@code null}
+     * references, no matter if quoted ({@link #quoteCharacter()}) or not.</p>
+     *
+     * <p>Regardless of the value of this attribute, unquoted empty values will always be interpreted as
+     * {@code null}.</p>
+     *
+     * <p>Defaults to {@code {}}.</p>
+     * @return A list of strings that should be interpreted as {@code null} references.
+     */
+    String[] nullValues() default {};
+
+    /**
+     * A value used to substitute quoted empty strings read from the input.
+     *
+     * <p>Defaults to empty string ({@code ""}).</p>
+     * @return A value used to substitute quoted empty strings read from the input.
+     */
+    String emptyValue() default "";
+
+    /**
+     * Enables the batch mode, grouping the given number of consecutive test cases into a single test method
+     * invocation. Instead of separate arguments, the test method then accepts {@link FormattedRows} (or
+     * {@code List<FormattedRow>}) as its first parameter. This greatly reduces the per-invocation overhead of
+     * the JUnit engine for huge data sets of tiny test cases.
+     *
+     * <p>Defaults to {@code 0} (disabled).</p>
+     * @return The number of test cases per a single test method invocation, or {@code 0} to disable batching.
+     */
+    int batchSize() default 0;
+
+}
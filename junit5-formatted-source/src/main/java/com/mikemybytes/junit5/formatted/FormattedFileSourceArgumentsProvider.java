@@ -0,0 +1,60 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * {@code FormattedFileSourceArgumentsProvider} is an {@link ArgumentsProvider} implementation capable of extracting
+ * argument values from the files defined via {@link FormattedFileSource} annotation.
+ */
+class FormattedFileSourceArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<FormattedFileSource> {
+
+    private FormattedFileSource annotation;
+    private FormattedSourceData sourceData;
+
+    @Override
+    public void accept(FormattedFileSource annotation) {
+        this.annotation = annotation;
+        this.sourceData = FormattedSourceData.from(annotation);
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        require(sourceData != null);
+        require(
+                annotation.resources().length > 0 || annotation.files().length > 0,
+                "Test case input must be provided via resources or files"
+        );
+
+        FormattedSourceData sourceData = SharedFormats.apply(context, this.sourceData);
+        FormatSpecification specification = FormatSpecifications.resolve(context, sourceData);
+        var processor = RawArgumentsProcessor.forSourceData(sourceData, RawArgumentsProcessor.passThrough());
+        var argumentsExtractor = new ArgumentsExtractor(sourceData, specification, processor);
+        Class<?> testClass = context.getRequiredTestClass();
+        return ArgumentsStreamFactory.create(context, sourceData, () -> readLines(testClass), argumentsExtractor);
+    }
+
+    private Stream<String> readLines(Class<?> testClass) {
+        Charset charset = Charset.forName(annotation.encoding());
+        List<Supplier<Stream<String>>> inputs = new ArrayList<>();
+        for (String resource : annotation.resources()) {
+            inputs.add(() -> FileLines.ofResource(testClass, resource, charset));
+        }
+        for (String file : annotation.files()) {
+            inputs.add(() -> FileLines.ofFile(Path.of(file), charset));
+        }
+        return FileLines.concat(inputs);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * A single test case delivered as a part of {@link FormattedRows} in the batch mode (see
+ * {@link FormattedSource#batchSize()}). Keeps the original input line together with the extracted argument values.
+ *
+ * <p>As the batch is being passed to the test method as a whole, no implicit argument conversion takes place. Instead,
+ * typed accessors parse the values directly (values of the typed placeholders, like {@code {0:int}}, are already parsed
+ * and returned as they are). All of them return {@code null} (or fail for the primitive types) when the value is a
+ * {@code null} reference.</p>
+ */
+public final class FormattedRow {
+
+    private final String line;
+    private final Object[] values;
+
+    FormattedRow(String line, Object[] values) {
+        this.line = line;
+        this.values = values;
+    }
+
+    /**
+     * @return The input line of the test case.
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * @return Number of argument values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Raw argument value (a string or {@code null} reference). Values of the typed placeholders are converted
+     * back to strings.
+     */
+    public String get(int index) {
+        Object value = value(index);
+        return value == null || value instanceof String ? (String) value : value.toString();
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Argument value parsed as {@code int}.
+     * @throws NumberFormatException when the value is not a valid {@code int}
+     */
+    public int getInt(int index) {
+        Object value = value(index);
+        return value instanceof Integer ? (Integer) value : Integer.parseInt(get(index));
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Argument value parsed as {@code long}.
+     * @throws NumberFormatException when the value is not a valid {@code long}
+     */
+    public long getLong(int index) {
+        Object value = value(index);
+        return value instanceof Long || value instanceof Integer
+                ? ((Number) value).longValue()
+                : Long.parseLong(get(index));
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Argument value parsed as {@code double}.
+     * @throws NumberFormatException when the value is not a valid {@code double}
+     */
+    public double getDouble(int index) {
+        Object value = value(index);
+        return value instanceof Double ? (Double) value : Double.parseDouble(get(index));
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Argument value parsed as {@code boolean} ({@code true} ignoring case, {@code false} otherwise).
+     */
+    public boolean getBoolean(int index) {
+        Object value = value(index);
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(get(index));
+    }
+
+    /**
+     * @param index Argument index (counting from zero).
+     * @return Argument value parsed as {@link BigDecimal} or {@code null}.
+     * @throws NumberFormatException when the value is not a valid decimal number
+     */
+    public BigDecimal getBigDecimal(int index) {
+        if (value(index) instanceof BigDecimal) {
+            return (BigDecimal) value(index);
+        }
+        String value = get(index);
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    /**
+     * @param index    Argument index (counting from zero).
+     * @param enumType Type of the enum.
+     * @param <E>      Type of the enum.
+     * @return Enum constant with the exact name of the argument value or {@code null}.
+     * @throws IllegalArgumentException when there's no such enum constant
+     */
+    public <E extends Enum<E>> E getEnum(int index, Class<E> enumType) {
+        String value = get(index);
+        return value != null ? Enum.valueOf(enumType, value) : null;
+    }
+
+    private Object value(int index) {
+        require(index >= 0 && index < values.length, () -> "Invalid argument index: " + index);
+        return values[index];
+    }
+
+    Object[] getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FormattedRow that = (FormattedRow) o;
+        return line.equals(that.line) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * line.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.TestAbortedException;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Batch of test cases passed to a single test method invocation in the batch mode (see
+ * {@link FormattedSource#batchSize()}). Test methods could accept it either as {@code FormattedRows} or
+ * {@code List<FormattedRow>}:
+ *
+ * <pre class="code">
+ * {@literal @}ParameterizedTest
+ * {@literal @}FormattedFileSource(format = "{0} + {1} = {2}", resources = "/sums.txt", batchSize = 10_000)
+ * void calculatesSum(FormattedRows rows) {
+ *     rows.forEachRow(row -&gt; assertEquals(row.getInt(2), row.getInt(0) + row.getInt(1)));
+ * }
+ * </pre>
+ */
+public final class FormattedRows extends AbstractList<FormattedRow> implements RandomAccess {
+
+    private final List<FormattedRow> rows;
+
+    FormattedRows(List<FormattedRow> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public FormattedRow get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Executes the given test for each row, stopping at the first failure. The failure is reported together with the
+     * input line of the failing test case, so it could be easily identified within the batch. Expected and actual
+     * values of the original assertion failure are preserved. Aborted tests (e.g. failed assumptions) abort the whole
+     * batch.
+     *
+     * @param test Test to be executed for each row.
+     * @throws AssertionFailedError when the test fails for any of the rows
+     */
+    public void forEachRow(ThrowingConsumer<? super FormattedRow> test) {
+        for (FormattedRow row : rows) {
+            try {
+                test.accept(row);
+            } catch (TestAbortedException e) {
+                throw e;
+            } catch (Throwable t) {
+                if (t instanceof Error && !(t instanceof AssertionError)) {
+                    throw (Error) t;
+                }
+                throw failure(row, t);
+            }
+        }
+    }
+
+    /**
+     * Wraps the failure of the given row, keeping the expected and actual values (if any), so IDEs could still
+     * present the comparison.
+     */
+    private static AssertionFailedError failure(FormattedRow row, Throwable cause) {
+        String message = "Test case failed: " + row.getLine() + " ==> " + cause.getMessage();
+        if (cause instanceof AssertionFailedError) {
+            var assertionFailure = (AssertionFailedError) cause;
+            if (assertionFailure.isExpectedDefined() || assertionFailure.isActualDefined()) {
+                return new AssertionFailedError(
+                        message,
+                        assertionFailure.isExpectedDefined() ? assertionFailure.getExpected().getValue() : null,
+                        assertionFailure.isActualDefined() ? assertionFailure.getActual().getValue() : null,
+                        cause
+                );
+            }
+        }
+        return new AssertionFailedError(message, cause);
+    }
+
+    /**
+     * Returns a short description of the batch, used as its display name.
+     */
+    String describe() {
+        if (rows.size() == 1) {
+            return rows.get(0).getLine();
+        }
+        return rows.get(0).getLine() + " ... " + rows.get(rows.size() - 1).getLine()
+                + " (" + rows.size() + " test cases)";
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.mikemybytes.junit5.formatted;
 
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.lang.annotation.*;
@@ -14,6 +15,7 @@ import java.lang.annotation.*;
 @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
+@ExtendWith(TimeBudgetExecutionCondition.class)
 @ArgumentsSource(FormattedSourceArgumentsProvider.class)
 public @interface FormattedSource {
 
@@ -24,9 +26,27 @@ public @interface FormattedSource {
      * string instead. As there's no braces (curly brackets) escaping, switching to the fixed argument placeholder
      * allows using them in the format string.</p>
      *
+     * <p>Could be omitted when the format is declared once for the whole test class (or package) with
+     * {@link FormattedSourceFormat}. In such case, all the format options (like {@link #quoteCharacter()} or
+     * {@link #nullValues()}) come from that declaration as well.</p>
+     *
      * @return The definition of the arguments format.
      */
-    String format();
+    String format() default "";
+
+    /**
+     * Alternative definitions of the arguments format, for data sets mixing lines of different shapes. Each line is
+     * matched by the first compatible format: {@link #format()} first, then the alternatives in the declared order.
+     * Alternative formats use the same placeholder syntax, but may omit some of the arguments defined by
+     * {@link #format()} - their values are {@code null} for the lines matched by such formats. E.g. with
+     * {@code format = "{0} + {1} = {2}"} and {@code alternativeFormats = "{0} = {2}"}, the line {@code 5 = 5} results
+     * in arguments {@code 5}, {@code null} and {@code 5}.
+     *
+     * <p>Defaults to {@code {}} (no alternatives).</p>
+     *
+     * @return Alternative definitions of the arguments format.
+     */
+    String[] alternativeFormats() default {};
 
     /**
      * Test case input represented as lines in the defined {@link #format}. Each line represents a separate test case
@@ -104,4 +124,33 @@ public @interface FormattedSource {
      */
     String emptyValue() default "";
 
+    /**
+     * Enables the batch mode, grouping the given number of consecutive test cases into a single test method
+     * invocation. Instead of separate arguments, the test method then accepts {@link FormattedRows} (or
+     * {@code List<FormattedRow>}) as its first parameter. This greatly reduces the per-invocation overhead of
+     * the JUnit engine for huge data sets of tiny test cases.
+     *
+     * <p>Defaults to {@code 0} (disabled).</p>
+     * @return The number of test cases per a single test method invocation, or {@code 0} to disable batching.
+     */
+    int batchSize() default 0;
+
+    /**
+     * Enables the table mode, where the test case input is a pipe-delimited (e.g. Markdown or ASCII) table instead of
+     * lines in the user-defined {@link #format()}, which must not be defined then:
+     * <pre>
+     * | a | b | expectedSum |
+     * |---|---|-------------|
+     * | 1 | 2 | 3           |
+     * </pre>
+     * The first row of the table is its header, mapping each column to the test method parameter - either by the name
+     * of the parameter (available only when compiled with {@code -parameters}) or by its index in the {@code {x}}
+     * form. Separator rows (e.g. {@code |---|---|}) and border rows (e.g. {@code +---+---+}) are skipped. Each of the
+     * remaining rows represents a separate test case.
+     *
+     * <p>Defaults to {@code false}.</p>
+     * @return {@code true} if the test case input is a table, {@code false} otherwise.
+     */
+    boolean table() default false;
+
 }
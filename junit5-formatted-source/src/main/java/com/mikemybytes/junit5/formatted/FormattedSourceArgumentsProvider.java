@@ -26,12 +26,11 @@ class FormattedSourceArgumentsProvider implements ArgumentsProvider, AnnotationC
     public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
         require(sourceData != null);
 
-        int expectedParameterCount = context.getRequiredTestMethod().getParameterCount();
-        FormatSpecification specification = FormatAnalyzers.from(sourceData)
-                .analyze(sourceData.getFormatString(), expectedParameterCount);
-        var argumentsExtractor = new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
-        return sourceData.getLines().stream()
-                .map(argumentsExtractor::extract);
+        FormattedSourceData sourceData = SharedFormats.apply(context, this.sourceData);
+        FormatSpecification specification = FormatSpecifications.resolve(context, sourceData);
+        var processor = RawArgumentsProcessor.forSourceData(sourceData, RawArgumentsProcessor.passThrough());
+        var argumentsExtractor = new ArgumentsExtractor(sourceData, specification, processor);
+        return ArgumentsStreamFactory.create(context, sourceData, sourceData::getTestCaseLines, argumentsExtractor);
     }
 
 }
@@ -0,0 +1,214 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Configuration shared by all the argument providers, defined via JUnit Platform configuration parameters (e.g. in
+ * {@code junit-platform.properties} or as system properties).
+ */
+final class FormattedSourceConfiguration {
+
+    /**
+     * Enables parsing all the test case input lines in parallel, before executing the first test case.
+     */
+    static final String PARALLEL_PARSING_ENABLED = "formattedsource.parsing.parallel.enabled";
+
+    /**
+     * Directory of the persistent cache of extracted argument values (disabled when not set).
+     */
+    static final String CACHE_DIRECTORY = "formattedsource.cache.directory";
+
+    /**
+     * Enables interning of the repetitive argument values within each data set.
+     */
+    static final String INTERNING_ENABLED = "formattedsource.interning.enabled";
+
+    /**
+     * Maximum number of interned argument values per data set.
+     */
+    static final String INTERNING_MAX_SIZE = "formattedsource.interning.max-size";
+
+    static final int DEFAULT_INTERNING_MAX_SIZE = 1024;
+
+    /**
+     * Enables dropping test cases with the same argument values as one of the previous test cases.
+     */
+    static final String DEDUPLICATION_ENABLED = "formattedsource.deduplication.enabled";
+
+    /**
+     * Index (counting from zero) of the shard of test case input lines to be executed by this JVM.
+     */
+    static final String SHARD_INDEX = "formattedsource.shard.index";
+
+    /**
+     * Total number of shards the test case input lines are split into.
+     */
+    static final String SHARD_COUNT = "formattedsource.shard.count";
+
+    /**
+     * Percentage of the test case input lines to be executed (sampling is disabled when not set).
+     */
+    static final String SAMPLING_PERCENTAGE = "formattedsource.sampling.percentage";
+
+    /**
+     * Maximum number of the test case input lines to be executed (sampling is disabled when not set).
+     */
+    static final String SAMPLING_MAX_ROWS = "formattedsource.sampling.max-rows";
+
+    /**
+     * Seed determining which of the test case input lines are sampled.
+     */
+    static final String SAMPLING_SEED = "formattedsource.sampling.seed";
+
+    /**
+     * Wall-clock time budget of a single data set, e.g. {@code 30 s} or {@code 500 ms} (unlimited when not set).
+     */
+    static final String TIME_BUDGET = "formattedsource.time-budget";
+
+    /**
+     * Maximum number of characters read while matching a single input line with a regular expression (unlimited when
+     * not set or {@code 0}).
+     */
+    static final String MATCH_BUDGET = "formattedsource.match-budget";
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile(
+            "(\\d+)\\s*(ns|us|ms|s|m|h|d)?", Pattern.CASE_INSENSITIVE
+    );
+
+    private final Function<String, Optional<String>> parameters;
+
+    FormattedSourceConfiguration(Function<String, Optional<String>> parameters) {
+        this.parameters = parameters;
+    }
+
+    static FormattedSourceConfiguration from(ExtensionContext context) {
+        return new FormattedSourceConfiguration(context::getConfigurationParameter);
+    }
+
+    boolean isParallelParsingEnabled() {
+        return booleanParameter(PARALLEL_PARSING_ENABLED);
+    }
+
+    /**
+     * Returns the maximum number of interned argument values per data set, if interning is enabled.
+     */
+    Optional<Integer> getInterningMaxSize() {
+        if (!booleanParameter(INTERNING_ENABLED)) {
+            return Optional.empty();
+        }
+        return Optional.of(parameter(INTERNING_MAX_SIZE, Integer::valueOf).orElse(DEFAULT_INTERNING_MAX_SIZE));
+    }
+
+    boolean isDeduplicationEnabled() {
+        return booleanParameter(DEDUPLICATION_ENABLED);
+    }
+
+    Optional<Path> getCacheDirectory() {
+        return parameters.apply(CACHE_DIRECTORY)
+                .map(String::strip)
+                .filter(directory -> !directory.isEmpty())
+                .map(Path::of);
+    }
+
+    /**
+     * Returns the {@link Shard} of test case input lines to be executed, if sharding is enabled.
+     */
+    Optional<Shard> getShard() {
+        Optional<Integer> index = parameter(SHARD_INDEX, Integer::valueOf);
+        Optional<Integer> count = parameter(SHARD_COUNT, Integer::valueOf);
+        require(
+                index.isPresent() == count.isPresent(),
+                () -> "Both " + SHARD_INDEX + " and " + SHARD_COUNT + " have to be defined to enable sharding"
+        );
+        return index.map(i -> new Shard(i, count.get()));
+    }
+
+    /**
+     * Returns the {@link Sampling} of test case input lines to be executed, if sampling is enabled.
+     */
+    Optional<Sampling> getSampling() {
+        Optional<Double> percentage = parameter(SAMPLING_PERCENTAGE, Double::valueOf);
+        Optional<Integer> maxRows = parameter(SAMPLING_MAX_ROWS, Integer::valueOf);
+        if (percentage.isEmpty() && maxRows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Sampling(
+                percentage.orElse(100.0),
+                maxRows.orElse(Integer.MAX_VALUE),
+                parameter(SAMPLING_SEED, Long::valueOf).orElse(0L)
+        ));
+    }
+
+    /**
+     * Returns the wall-clock time budget of a single data set, if defined.
+     */
+    Optional<Duration> getTimeBudget() {
+        return parameter(TIME_BUDGET, value -> {
+            Matcher matcher = DURATION_PATTERN.matcher(value);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unsupported duration format");
+            }
+            long amount = Long.parseLong(matcher.group(1));
+            String unit = matcher.group(2) == null ? "s" : matcher.group(2).toLowerCase(Locale.ROOT);
+            switch (unit) {
+                case "ns":
+                    return Duration.ofNanos(amount);
+                case "us":
+                    return Duration.of(amount, ChronoUnit.MICROS);
+                case "ms":
+                    return Duration.ofMillis(amount);
+                case "m":
+                    return Duration.ofMinutes(amount);
+                case "h":
+                    return Duration.ofHours(amount);
+                case "d":
+                    return Duration.ofDays(amount);
+                default:
+                    return Duration.ofSeconds(amount);
+            }
+        });
+    }
+
+    /**
+     * Returns the maximum number of characters read while matching a single input line, if limited.
+     */
+    Optional<Long> getMatchBudget() {
+        return parameter(MATCH_BUDGET, value -> {
+            long steps = Long.parseLong(value);
+            require(steps >= 0, "Match budget must not be negative");
+            return steps;
+        }).filter(budget -> budget > 0);
+    }
+
+    private <T> Optional<T> parameter(String key, Function<String, T> parser) {
+        return parameters.apply(key)
+                .map(String::strip)
+                .filter(value -> !value.isEmpty())
+                .map(value -> {
+                    try {
+                        return parser.apply(value);
+                    } catch (IllegalArgumentException | ArithmeticException e) {
+                        throw new IllegalArgumentException("Invalid value of " + key + ": " + value, e);
+                    }
+                });
+    }
+
+    private boolean booleanParameter(String key) {
+        return parameters.apply(key)
+                .map(String::strip)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.mikemybytes.junit5.formatted;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
 
 /**
- * Shared container for parameter values of both {@link FormattedSource} and {@link FormattedSourceTest} annotations.
+ * Shared container for parameter values of {@link FormattedSource}, {@link FormattedSourceTest} and
+ * {@link FormattedFileSource} annotations.
  * Represents specific test configuration without any processing (raw values).
  */
 class FormattedSourceData {
@@ -14,9 +17,17 @@ class FormattedSourceData {
      */
     private final String formatString;
     /**
-     * Test input lines.
+     * Alternative format strings of the related test (empty when not defined).
+     */
+    private final List<String> alternativeFormats;
+    /**
+     * Test input lines (when defined as an array).
+     */
+    private final String[] lines;
+    /**
+     * Test input defined as a single text block. Kept as a whole and split into lines only when requested.
      */
-    private final List<String> lines;
+    private final String textBlock;
     /**
      * Character used for quoting test arguments.
      */
@@ -41,38 +52,82 @@ class FormattedSourceData {
      */
     private final String emptyValue;
 
+    /**
+     * Number of test cases grouped into a single invocation ({@code 0} when batching is disabled).
+     */
+    private final int batchSize;
+
+    /**
+     * Defines whether the test input is a table with the header row instead of lines in the defined format.
+     */
+    private final boolean table;
+
     static FormattedSourceData from(FormattedSource annotation) {
-        List<String> lines = extractLines(annotation.lines(), annotation.textBlock());
         return new FormattedSourceData(
                 annotation.format(),
-                lines,
+                annotation.lines(),
+                annotation.textBlock(),
                 annotation.quoteCharacter(),
                 annotation.argumentPlaceholder(),
                 annotation.ignoreLeadingAndTrailingWhitespace(),
                 toSet(annotation.nullValues()),
-                annotation.emptyValue()
+                annotation.emptyValue(),
+                annotation.batchSize(),
+                toList(annotation.alternativeFormats()),
+                annotation.table()
         );
     }
 
     static FormattedSourceData from(FormattedSourceTest annotation) {
-        List<String> lines = extractLines(annotation.lines(), annotation.textBlock());
         return new FormattedSourceData(
                 annotation.format(),
-                lines,
+                annotation.lines(),
+                annotation.textBlock(),
                 annotation.quoteCharacter(),
                 annotation.argumentPlaceholder(),
                 annotation.ignoreLeadingAndTrailingWhitespace(),
                 toSet(annotation.nullValues()),
-                annotation.emptyValue()
+                annotation.emptyValue(),
+                annotation.batchSize(),
+                toList(annotation.alternativeFormats()),
+                annotation.table()
         );
     }
 
-    private static List<String> extractLines(String[] lines, String textBlock) {
-        if (!textBlock.isEmpty()) {
-            return textBlock.lines().collect(Collectors.toList());
-        } else {
-            return toList(lines);
-        }
+    static FormattedSourceData from(FormattedFileSource annotation) {
+        // test case input is read directly from the files
+        return new FormattedSourceData(
+                annotation.format(),
+                new String[0],
+                "",
+                annotation.quoteCharacter(),
+                annotation.argumentPlaceholder(),
+                annotation.ignoreLeadingAndTrailingWhitespace(),
+                toSet(annotation.nullValues()),
+                annotation.emptyValue(),
+                annotation.batchSize(),
+                toList(annotation.alternativeFormats()),
+                false
+        );
+    }
+
+    /**
+     * Returns the same test input, but defined in the format declared with {@link FormattedSourceFormat}.
+     */
+    FormattedSourceData withFormat(FormattedSourceFormat declaration) {
+        return new FormattedSourceData(
+                declaration.format(),
+                lines,
+                textBlock,
+                declaration.quoteCharacter(),
+                declaration.argumentPlaceholder(),
+                declaration.ignoreLeadingAndTrailingWhitespace(),
+                toSet(declaration.nullValues()),
+                declaration.emptyValue(),
+                batchSize,
+                alternativeFormats,
+                table
+        );
     }
 
     private static List<String> toList(String[] array) {
@@ -83,29 +138,98 @@ class FormattedSourceData {
         return Set.copyOf(toList(array));
     }
 
-    private FormattedSourceData(
+    FormattedSourceData(
             String formatString,
-            List<String> lines,
+            String[] lines,
+            String textBlock,
             char quoteCharacter,
             String argumentPlaceholder,
             boolean ignoreWhitespaces,
             Set<String> nullValues,
             String emptyValue) {
+        this(
+                formatString, lines, textBlock, quoteCharacter, argumentPlaceholder, ignoreWhitespaces, nullValues,
+                emptyValue, 0
+        );
+    }
+
+    FormattedSourceData(
+            String formatString,
+            String[] lines,
+            String textBlock,
+            char quoteCharacter,
+            String argumentPlaceholder,
+            boolean ignoreWhitespaces,
+            Set<String> nullValues,
+            String emptyValue,
+            int batchSize) {
+        this(
+                formatString, lines, textBlock, quoteCharacter, argumentPlaceholder, ignoreWhitespaces, nullValues,
+                emptyValue, batchSize, List.of(), false
+        );
+    }
+
+    FormattedSourceData(
+            String formatString,
+            String[] lines,
+            String textBlock,
+            char quoteCharacter,
+            String argumentPlaceholder,
+            boolean ignoreWhitespaces,
+            Set<String> nullValues,
+            String emptyValue,
+            int batchSize,
+            List<String> alternativeFormats,
+            boolean table) {
+        require(batchSize >= 0, () -> "Batch size must not be negative but was " + batchSize);
         this.formatString = formatString;
-        this.lines = lines;
+        this.alternativeFormats = List.copyOf(alternativeFormats);
+        this.lines = lines != null ? lines : new String[0];
+        this.textBlock = textBlock != null ? textBlock : "";
         this.quoteCharacter = quoteCharacter;
         this.argumentPlaceholder = argumentPlaceholder;
         this.ignoreWhitespaces = ignoreWhitespaces;
         this.nullValues = nullValues;
         this.emptyValue = emptyValue;
+        this.batchSize = batchSize;
+        this.table = table;
     }
 
     String getFormatString() {
         return formatString;
     }
 
-    List<String> getLines() {
-        return lines;
+    /**
+     * Returns the alternative format strings, in the order of their precedence (see {@link AlternativeFormats}).
+     */
+    List<String> getAlternativeFormats() {
+        return alternativeFormats;
+    }
+
+    /**
+     * Returns {@code true} when the format string has been omitted in favor of {@link FormattedSourceFormat}.
+     */
+    boolean isFormatOmitted() {
+        return formatString == null || formatString.isEmpty();
+    }
+
+    /**
+     * Returns test input lines as a lazy stream - text block lines are being split only when consumed.
+     */
+    Stream<String> getLines() {
+        if (!textBlock.isEmpty()) {
+            return textBlock.lines();
+        } else {
+            return Arrays.stream(lines);
+        }
+    }
+
+    /**
+     * Returns test input lines representing test cases - in the table mode, the header row and the separator rows
+     * are skipped (see {@link TableFormats}).
+     */
+    Stream<String> getTestCaseLines() {
+        return table ? TableFormats.rows(getLines()) : getLines();
     }
 
     char getQuoteCharacter() {
@@ -130,4 +254,23 @@ class FormattedSourceData {
     public String getEmptyValue() {
         return emptyValue;
     }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns {@code true} when test cases should be grouped into {@link FormattedRows} batches.
+     */
+    boolean isBatched() {
+        return batchSize > 0;
+    }
+
+    /**
+     * Returns {@code true} when the test input is a table with the header row (see {@link TableFormats}).
+     */
+    boolean isTable() {
+        return table;
+    }
+
 }
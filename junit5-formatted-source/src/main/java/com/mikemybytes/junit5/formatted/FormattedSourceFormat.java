@@ -0,0 +1,93 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.lang.annotation.*;
+
+/**
+ * {@code @FormattedSourceFormat} declares the format (and its options) shared by all the {@link FormattedSource},
+ * {@link FormattedSourceTest} and {@link FormattedFileSource} annotated test methods that do not define their own
+ * {@code format}. The format is being analyzed only once per test class, instead of once per test method.
+ *
+ * <pre class="code">
+ * {@literal @}FormattedSourceFormat(format = "{0} + {1} = {2}")
+ * class CalculatorTest {
+ *
+ *     {@literal @}FormattedSourceTest(lines = {
+ *         "3 + 4 = 7",
+ *         "7 + 1 = 8"
+ *     })
+ *     void calculatesSum(int x, int y, int expectedSum) {
+ *         // ...
+ *     }
+ *
+ *     {@literal @}FormattedSourceTest(textBlock = """
+ *         1 + 2 = 3
+ *         """)
+ *     void calculatesSumOfLongs(long x, long y, long expectedSum) {
+ *         // ...
+ *     }
+ *
+ * }
+ * </pre>
+ *
+ * <p>The declaration is looked up on the class declaring the test method first, then on its enclosing classes
+ * (e.g. for {@code @Nested} tests) and finally on the package (via {@code package-info.java}).</p>
+ */
+@Target({ElementType.TYPE, ElementType.PACKAGE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FormattedSourceFormat {
+
+    /**
+     * The definition of the arguments format.
+     *
+     * @return The definition of the arguments format.
+     * @see FormattedSource#format()
+     */
+    String format();
+
+    /**
+     * The quote character that could be used to separate argument's value from the rest of the input.
+     *
+     * <p>Defaults to a single quote ({@code '}).</p>
+     *
+     * @return Arguments quote character.
+     * @see FormattedSource#quoteCharacter()
+     */
+    char quoteCharacter() default '\'';
+
+    /**
+     * Specifies fixed argument placeholder string that should be used instead of the default indexed syntax.
+     *
+     * @return Custom argument placeholder string.
+     * @see FormattedSource#argumentPlaceholder()
+     */
+    String argumentPlaceholder() default "";
+
+    /**
+     * Allows to ignore (or not) leading and trailing whitespace characters identified in the argument values.
+     *
+     * <p>Defaults to {@code true}.</p>
+     * @return {@code true} if leading and trailing whitespaces should be ignored, {@code false} otherwise.
+     * @see FormattedSource#ignoreLeadingAndTrailingWhitespace()
+     */
+    boolean ignoreLeadingAndTrailingWhitespace() default true;
+
+    /**
+     * A list of strings that should be interpreted as {@code null} references.
+     *
+     * <p>Defaults to {@code {}}.</p>
+     * @return A list of strings that should be interpreted as {@code null} references.
+     * @see FormattedSource#nullValues()
+     */
+    String[] nullValues() default {};
+
+    /**
+     * A value used to substitute quoted empty strings read from the input.
+     *
+     * <p>Defaults to empty string ({@code ""}).</p>
+     * @return A value used to substitute quoted empty strings read from the input.
+     * @see FormattedSource#emptyValue()
+     */
+    String emptyValue() default "";
+
+}
@@ -0,0 +1,347 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * {@code FormattedSourceParser} exposes the parsing engine behind {@link FormattedSource} for programmatic use, e.g.
+ * within {@link org.junit.jupiter.params.provider.MethodSource} factories, {@link org.junit.jupiter.api.TestFactory}
+ * methods or custom test data loading utilities.
+ *
+ * <pre class="code">
+ * static final FormattedSourceParser PARSER = FormattedSourceParser.builder("{0} + {1} = {2}")
+ *         .nullValues("null")
+ *         .build();
+ *
+ * static Stream&lt;Arguments&gt; sums() {
+ *     return PARSER.parse(Path.of("src/test/data/sums.txt"), StandardCharsets.UTF_8);
+ * }
+ * </pre>
+ *
+ * <p>The format is analyzed once, while building the parser. Parsers are immutable and thread-safe, so a single
+ * instance could be shared by multiple tests. Argument values are extracted exactly like for {@link FormattedSource}
+ * (including quoting, whitespace handling, null and empty values), but no type conversion is being applied - all
+ * the values are strings or {@code null} references, except the values of typed placeholders (e.g. {@code {0:int}}),
+ * which are already parsed.</p>
+ */
+public final class FormattedSourceParser {
+
+    private final String format;
+    private final ArgumentsExtractor extractor;
+    private final int argumentCount;
+
+    private FormattedSourceParser(Builder builder) {
+        var sourceData = new FormattedSourceData(
+                builder.format,
+                new String[0],
+                "",
+                builder.quoteCharacter,
+                builder.argumentPlaceholder,
+                builder.ignoreLeadingAndTrailingWhitespace,
+                Set.copyOf(Arrays.asList(builder.nullValues)),
+                builder.emptyValue,
+                0,
+                List.of(builder.alternativeFormats),
+                false
+        );
+        // there's no test method limiting the number of arguments
+        FormatSpecification specification = AlternativeFormats.analyze(
+                FormatAnalyzers.from(sourceData), builder.format, sourceData.getAlternativeFormats(), Integer.MAX_VALUE
+        );
+        this.format = builder.format;
+        this.extractor = new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+        if (builder.matchBudget > 0) {
+            extractor.limitMatchSteps(builder.matchBudget);
+        }
+        this.argumentCount = specification.getArgumentsOrder().size();
+    }
+
+    /**
+     * Starts building a parser for the given format. The format follows exactly the same rules as
+     * {@link FormattedSource#format()}.
+     *
+     * @param format The definition of the arguments format.
+     * @return Parser builder.
+     */
+    public static Builder builder(String format) {
+        return new Builder(format);
+    }
+
+    /**
+     * @return The definition of the arguments format.
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return Number of arguments defined by the format (and so the number of values of each parsed line).
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * Extracts argument values out of a single line.
+     *
+     * @param line Line in the defined format.
+     * @return Argument values (strings, parsed values of typed placeholders or {@code null} references) ordered by the
+     * argument index.
+     * @throws IllegalArgumentException when the line does not match the format
+     */
+    public Object[] parseValues(String line) {
+        require(line != null, "Line must not be null");
+        return extractor.extractValues(line);
+    }
+
+    /**
+     * Extracts test arguments out of a single line.
+     *
+     * @param line Line in the defined format.
+     * @return Test arguments ordered by the argument index.
+     * @throws IllegalArgumentException when the line does not match the format
+     */
+    public Arguments parse(String line) {
+        require(line != null, "Line must not be null");
+        return extractor.extract(line);
+    }
+
+    /**
+     * Lazily extracts argument values out of each line of the given reader. The reader is being closed together with
+     * the returned stream.
+     *
+     * @param reader Source of the lines in the defined format.
+     * @return Stream of argument values, one element per line.
+     */
+    public Stream<Object[]> parseValues(Reader reader) {
+        require(reader != null, "Reader must not be null");
+        return FileLines.ofReader(reader).map(extractor::extractValues);
+    }
+
+    /**
+     * Lazily extracts test arguments out of each line of the given reader. The reader is being closed together with
+     * the returned stream.
+     *
+     * @param reader Source of the lines in the defined format.
+     * @return Stream of test arguments, one element per line.
+     */
+    public Stream<Arguments> parse(Reader reader) {
+        require(reader != null, "Reader must not be null");
+        return FileLines.ofReader(reader).map(extractor::extract);
+    }
+
+    /**
+     * Lazily extracts argument values out of each line of the given file. Just like for {@link FormattedFileSource},
+     * the file is memory-mapped, while files with names ending with {@code .gz} are being decompressed on the fly.
+     * The file remains open until the returned stream gets closed.
+     *
+     * @param file    File containing lines in the defined format.
+     * @param charset Charset used to decode the file content.
+     * @return Stream of argument values, one element per line.
+     */
+    public Stream<Object[]> parseValues(Path file, Charset charset) {
+        require(file != null, "File must not be null");
+        require(charset != null, "Charset must not be null");
+        return FileLines.ofFile(file, charset).map(extractor::extractValues);
+    }
+
+    /**
+     * Lazily extracts test arguments out of each line of the given file. Just like for {@link FormattedFileSource},
+     * the file is memory-mapped, while files with names ending with {@code .gz} are being decompressed on the fly.
+     * The file remains open until the returned stream gets closed.
+     *
+     * @param file    File containing lines in the defined format.
+     * @param charset Charset used to decode the file content.
+     * @return Stream of test arguments, one element per line.
+     */
+    public Stream<Arguments> parse(Path file, Charset charset) {
+        require(file != null, "File must not be null");
+        require(charset != null, "Charset must not be null");
+        return FileLines.ofFile(file, charset).map(extractor::extract);
+    }
+
+    /**
+     * Lazily turns the given lines into {@link DynamicTest}s, e.g. to be returned from a
+     * {@link org.junit.jupiter.api.TestFactory} method. Each dynamic test is named after its line (just like for
+     * {@link FormattedSourceTest}), while the line gets parsed only once the engine executes that test. This way,
+     * even unbounded data sets (e.g. produced by generators) never have to be held in memory as a whole. A line that
+     * does not match the format fails only its own dynamic test.
+     *
+     * <pre class="code">
+     * {@literal @}TestFactory
+     * Stream&lt;DynamicTest&gt; sums() {
+     *     return PARSER.dynamicTests(generatedLines(), values -&gt; {
+     *         // values[0], values[1], ...
+     *     });
+     * }
+     * </pre>
+     *
+     * @param lines        Lines in the defined format.
+     * @param testExecutor Test executed with the argument values of each line (ordered by the argument index).
+     * @return Lazy stream of dynamic tests - closing it closes the lines stream as well.
+     */
+    public Stream<DynamicTest> dynamicTests(Stream<String> lines, ThrowingConsumer<Object[]> testExecutor) {
+        require(lines != null, "Lines must not be null");
+        require(testExecutor != null, "Test executor must not be null");
+        return lines.map(line -> DynamicTest.dynamicTest(
+                line,
+                () -> testExecutor.accept(extractor.extractValues(line))
+        ));
+    }
+
+    /**
+     * Lazily turns each line of the given reader into a {@link DynamicTest}. See
+     * {@link #dynamicTests(Stream, ThrowingConsumer)} for details.
+     *
+     * @param reader       Source of the lines in the defined format.
+     * @param testExecutor Test executed with the argument values of each line (ordered by the argument index).
+     * @return Lazy stream of dynamic tests - closing it closes the reader as well.
+     */
+    public Stream<DynamicTest> dynamicTests(Reader reader, ThrowingConsumer<Object[]> testExecutor) {
+        require(reader != null, "Reader must not be null");
+        require(testExecutor != null, "Test executor must not be null");
+        return dynamicTests(FileLines.ofReader(reader), testExecutor);
+    }
+
+    /**
+     * Lazily turns each line of the given file into a {@link DynamicTest}. See
+     * {@link #dynamicTests(Stream, ThrowingConsumer)} for details.
+     *
+     * @param file         File containing lines in the defined format.
+     * @param charset      Charset used to decode the file content.
+     * @param testExecutor Test executed with the argument values of each line (ordered by the argument index).
+     * @return Lazy stream of dynamic tests - closing it closes the file as well.
+     */
+    public Stream<DynamicTest> dynamicTests(Path file, Charset charset, ThrowingConsumer<Object[]> testExecutor) {
+        require(file != null, "File must not be null");
+        require(charset != null, "Charset must not be null");
+        require(testExecutor != null, "Test executor must not be null");
+        return dynamicTests(FileLines.ofFile(file, charset), testExecutor);
+    }
+
+    /**
+     * Builder of {@link FormattedSourceParser}. Options have the same meaning (and the same defaults) as the
+     * corresponding attributes of {@link FormattedSource}.
+     */
+    public static final class Builder {
+
+        private final String format;
+        private char quoteCharacter = '\'';
+        private String argumentPlaceholder = "";
+        private boolean ignoreLeadingAndTrailingWhitespace = true;
+        private String[] nullValues = new String[0];
+        private String emptyValue = "";
+        private String[] alternativeFormats = new String[0];
+        private long matchBudget = 0;
+
+        private Builder(String format) {
+            require(format != null, "Format must not be null");
+            this.format = format;
+        }
+
+        /**
+         * @param quoteCharacter Arguments quote character.
+         * @return This builder.
+         * @see FormattedSource#quoteCharacter()
+         */
+        public Builder quoteCharacter(char quoteCharacter) {
+            this.quoteCharacter = quoteCharacter;
+            return this;
+        }
+
+        /**
+         * @param argumentPlaceholder Custom argument placeholder string.
+         * @return This builder.
+         * @see FormattedSource#argumentPlaceholder()
+         */
+        public Builder argumentPlaceholder(String argumentPlaceholder) {
+            require(argumentPlaceholder != null, "Argument placeholder must not be null");
+            this.argumentPlaceholder = argumentPlaceholder;
+            return this;
+        }
+
+        /**
+         * @param ignoreLeadingAndTrailingWhitespace {@code true} if leading and trailing whitespaces should be ignored.
+         * @return This builder.
+         * @see FormattedSource#ignoreLeadingAndTrailingWhitespace()
+         */
+        public Builder ignoreLeadingAndTrailingWhitespace(boolean ignoreLeadingAndTrailingWhitespace) {
+            this.ignoreLeadingAndTrailingWhitespace = ignoreLeadingAndTrailingWhitespace;
+            return this;
+        }
+
+        /**
+         * @param nullValues Strings that should be interpreted as {@code null} references.
+         * @return This builder.
+         * @see FormattedSource#nullValues()
+         */
+        public Builder nullValues(String... nullValues) {
+            require(Arrays.stream(nullValues).noneMatch(Objects::isNull), "Null values must not contain null");
+            this.nullValues = nullValues.clone();
+            return this;
+        }
+
+        /**
+         * @param emptyValue A value used to substitute quoted empty strings read from the input.
+         * @return This builder.
+         * @see FormattedSource#emptyValue()
+         */
+        public Builder emptyValue(String emptyValue) {
+            require(emptyValue != null, "Empty value must not be null");
+            this.emptyValue = emptyValue;
+            return this;
+        }
+
+        /**
+         * @param alternativeFormats Alternative definitions of the arguments format.
+         * @return This builder.
+         * @see FormattedSource#alternativeFormats()
+         */
+        public Builder alternativeFormats(String... alternativeFormats) {
+            require(
+                    Arrays.stream(alternativeFormats).noneMatch(Objects::isNull),
+                    "Alternative formats must not contain null"
+            );
+            this.alternativeFormats = alternativeFormats.clone();
+            return this;
+        }
+
+        /**
+         * Limits the number of characters read while matching a single line with a regular expression, just like the
+         * {@code formattedsource.match-budget} configuration parameter. Lines exceeding the limit are rejected with
+         * {@link IllegalArgumentException}.
+         *
+         * @param matchBudget Maximum number of characters read per line ({@code 0}, the default, disables the limit).
+         * @return This builder.
+         */
+        public Builder matchBudget(long matchBudget) {
+            require(matchBudget >= 0, "Match budget must not be negative");
+            this.matchBudget = matchBudget;
+            return this;
+        }
+
+        /**
+         * Analyzes the format and creates the parser.
+         *
+         * @return Immutable parser instance.
+         * @throws IllegalArgumentException when the format is not valid
+         */
+        public FormattedSourceParser build() {
+            return new FormattedSourceParser(this);
+        }
+
+    }
+
+}
@@ -26,12 +26,10 @@ class FormattedSourceTestArgumentsProvider implements ArgumentsProvider, Annotat
     public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
         require(sourceData != null);
 
-        int expectedParameterCount = context.getRequiredTestMethod().getParameterCount();
-        FormatSpecification specification = FormatAnalyzers.from(sourceData)
-                .analyze(sourceData.getFormatString(), expectedParameterCount);
-        var processor = new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.testCaseName());
-        return sourceData.getLines()
-                .stream()
-                .map(processor::extract);
+        FormattedSourceData sourceData = SharedFormats.apply(context, this.sourceData);
+        FormatSpecification specification = FormatSpecifications.resolve(context, sourceData);
+        var processor = RawArgumentsProcessor.forSourceData(sourceData, RawArgumentsProcessor.testCaseName());
+        var argumentsExtractor = new ArgumentsExtractor(sourceData, specification, processor);
+        return ArgumentsStreamFactory.create(context, sourceData, sourceData::getTestCaseLines, argumentsExtractor);
     }
 }
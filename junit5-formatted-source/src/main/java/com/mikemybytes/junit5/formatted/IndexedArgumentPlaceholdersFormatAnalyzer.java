@@ -1,5 +1,7 @@
 package com.mikemybytes.junit5.formatted;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.regex.MatchResult;
@@ -12,23 +14,77 @@ import static com.mikemybytes.junit5.formatted.Preconditions.require;
 /**
  * Creates {@link FormatSpecification} for indexed argument placeholders. Every argument is represented as {@code {x}},
  * where {@code x} is its index (counting from zero). For example, {@code {0}} represents the first argument, while
- * {@code {3}} represents the fourth one.
+ * {@code {3}} represents the fourth one. Placeholders might also define the {@link ArgumentType} of their values, e.g.
+ * {@code {0:int}}.
  * <p>
  * Inspired by the <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parameterized-tests-display-names">JUnit 5 convention used for customizing display names</a>.
  * </p>
  */
 class IndexedArgumentPlaceholdersFormatAnalyzer implements FormatAnalyzer {
 
-    private static final Pattern formatArgumentPlaceholderPattern = Pattern.compile("\\{(\\d+)}");
+    private static final Pattern formatArgumentPlaceholderPattern = Pattern.compile("\\{(\\d+)(?::(\\w+))?}");
 
     @Override
     public FormatSpecification analyze(String formatString, int methodParameterCount) {
         List<MatchResult> matchResults = matchFormatArgumentPlaceholders(formatString);
 
         List<Integer> formatArgumentsOrder = extractTemplateArguments(matchResults, methodParameterCount);
-        Pattern linePattern = LinePatternFactory.create(formatString, matchResults, formatArgumentsOrder);
+        return specification(formatString, matchResults, formatArgumentsOrder, formatArgumentsOrder.size());
+    }
+
+    @Override
+    public FormatAlternative analyzeAlternative(String formatString, int argumentCount) {
+        List<MatchResult> matchResults = matchFormatArgumentPlaceholders(formatString);
+
+        List<Integer> formatArgumentsOrder = matchResults.stream()
+                .map(r -> Integer.valueOf(r.group(1)))
+                .collect(Collectors.toList());
+        for (int argumentIndex : formatArgumentsOrder) {
+            require(
+                    argumentIndex < argumentCount,
+                    () -> "Alternative format \"" + formatString + "\" refers to argument " + argumentIndex
+                            + ", while the main format defines only " + argumentCount + " arguments"
+            );
+        }
+        require(
+                new HashSet<>(formatArgumentsOrder).size() == formatArgumentsOrder.size(),
+                () -> "Alternative format \"" + formatString + "\" refers to the same argument more than once"
+        );
+
+        FormatSpecification specification =
+                specification(formatString, matchResults, formatArgumentsOrder, argumentCount);
+        String leadingLiteral = matchResults.isEmpty()
+                ? formatString
+                : formatString.substring(0, matchResults.get(0).start());
+        return new FormatAlternative(formatString, leadingLiteral, specification);
+    }
+
+    private FormatSpecification specification(
+            String formatString,
+            List<MatchResult> matchResults,
+            List<Integer> formatArgumentsOrder,
+            int argumentCount) {
+        List<ArgumentType> argumentTypes = extractArgumentTypes(matchResults, formatArgumentsOrder, argumentCount);
+        List<String> textParts = LinePatternFactory.tokenize(formatString, matchResults);
+        Pattern linePattern = LinePatternFactory.create(textParts, formatArgumentsOrder, argumentTypes);
+        LineMatcher lineMatcher = LineMatchers.from(linePattern, textParts, formatArgumentsOrder, argumentTypes);
+        List<String> ambiguities = LinePatternFactory.findAmbiguities(textParts, formatArgumentsOrder, argumentTypes);
 
-        return new FormatSpecification(linePattern, formatArgumentsOrder);
+        return new FormatSpecification(linePattern, formatArgumentsOrder, argumentTypes, ambiguities, lineMatcher);
+    }
+
+    private List<ArgumentType> extractArgumentTypes(
+            List<MatchResult> matchingFormatArgumentPlaceholders,
+            List<Integer> formatArgumentsOrder,
+            int argumentCount) {
+        List<ArgumentType> argumentTypes = new ArrayList<>(Collections.nCopies(argumentCount, ArgumentType.TEXT));
+        for (int i = 0; i < formatArgumentsOrder.size(); i++) {
+            String typeName = matchingFormatArgumentPlaceholders.get(i).group(2);
+            if (typeName != null) {
+                argumentTypes.set(formatArgumentsOrder.get(i), ArgumentType.fromName(typeName));
+            }
+        }
+        return List.copyOf(argumentTypes);
     }
 
     private List<MatchResult> matchFormatArgumentPlaceholders(String formatString) {
@@ -42,7 +98,7 @@ class IndexedArgumentPlaceholdersFormatAnalyzer implements FormatAnalyzer {
             int methodParameterCount) {
         List<Integer> templateArguments = matchingFormatArgumentPlaceholders.stream()
                 .map(r -> {
-                    require(r.groupCount() == 1);
+                    require(r.groupCount() == 2);
                     return Integer.valueOf(r.group(1));
                 })
                 .collect(Collectors.toList());
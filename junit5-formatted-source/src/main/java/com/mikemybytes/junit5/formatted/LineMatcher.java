@@ -0,0 +1,36 @@
+package com.mikemybytes.junit5.formatted;
+
+/**
+ * Matches test case input lines against the analyzed format, capturing the boundaries of the arguments' raw values.
+ * Implementations must be thread-safe.
+ */
+interface LineMatcher {
+
+    /**
+     * Matches the given input line against the format. Instead of creating substrings, boundaries of each argument's
+     * raw value are being stored in the provided array: for the argument with index {@code i} (starting from zero),
+     * {@code bounds[2 * i]} holds the start index (inclusive) and {@code bounds[2 * i + 1]} the end index (exclusive).
+     * Arguments omitted by the matched format (see {@link AlternativeFormats}) have both of them set to {@code -1}.
+     *
+     * @param line   test case input line
+     * @param bounds array of at least {@code 2 * argumentCount} elements to be filled with argument value boundaries
+     * @return {@code true} if the line matches the format, {@code false} otherwise
+     */
+    boolean match(String line, int[] bounds);
+
+    /**
+     * Matches the given input line against the format (see {@link #match(String, int[])}), limiting the work of the
+     * regular expressions engine to the given number of steps. Matchers not relying on regular expressions have linear
+     * complexity, so they may ignore the budget.
+     *
+     * @param line   test case input line
+     * @param bounds array of at least {@code 2 * argumentCount} elements to be filled with argument value boundaries
+     * @param steps  maximum number of characters read while matching the line with a regular expression
+     * @return {@code true} if the line matches the format, {@code false} otherwise
+     * @throws IllegalArgumentException when the budget gets exceeded
+     */
+    default boolean match(String line, int[] bounds, long steps) {
+        return match(line, bounds);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+class LineMatchers {
+
+    private LineMatchers() {
+        // static only
+    }
+
+    /**
+     * Chooses the most efficient {@link LineMatcher} supporting the analyzed format.
+     *
+     * @param linePattern    {@link Pattern} created by {@link LinePatternFactory} for the format
+     * @param literals       literal parts of the format, as returned by {@link LinePatternFactory#tokenize}
+     * @param argumentsOrder the order of arguments represented as the order of their indexes
+     */
+    static LineMatcher from(Pattern linePattern, List<String> literals, List<Integer> argumentsOrder) {
+        return from(linePattern, literals, argumentsOrder, List.of());
+    }
+
+    /**
+     * Chooses the most efficient {@link LineMatcher} supporting the analyzed format.
+     *
+     * @param linePattern    {@link Pattern} created by {@link LinePatternFactory} for the format
+     * @param literals       literal parts of the format, as returned by {@link LinePatternFactory#tokenize}
+     * @param argumentsOrder the order of arguments represented as the order of their indexes
+     * @param argumentTypes  types of the arguments (indexed by the argument index)
+     */
+    static LineMatcher from(
+            Pattern linePattern,
+            List<String> literals,
+            List<Integer> argumentsOrder,
+            List<ArgumentType> argumentTypes) {
+        var regexLineMatcher = new RegexLineMatcher(linePattern, argumentsOrder);
+        if (argumentTypes.stream().anyMatch(type -> type != ArgumentType.TEXT)) {
+            // typed values have to be matched with their sub-patterns, not just delimited by the literals
+            return regexLineMatcher;
+        }
+        // untyped argument placeholders are matched with ".*", so literal delimiters are sufficient
+        return new LiteralDelimitedLineMatcher(literals, argumentsOrder, regexLineMatcher);
+    }
+
+}
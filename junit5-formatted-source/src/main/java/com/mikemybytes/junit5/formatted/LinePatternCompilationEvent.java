@@ -0,0 +1,51 @@
+package com.mikemybytes.junit5.formatted;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.regex.Pattern;
+
+/**
+ * JDK Flight Recorder event covering the creation of a single line {@link Pattern} by the
+ * {@link LinePatternFactory}. Disabled by default. Used only when {@link FlightRecorderSupport#AVAILABLE}.
+ */
+@Name(LinePatternCompilationEvent.NAME)
+@Label("Line Pattern Compilation")
+@Description("Creation of the regular expression matching test case input lines")
+@Category(FormatAnalysisEvent.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class LinePatternCompilationEvent extends Event {
+
+    static final String NAME = "com.mikemybytes.junit5.formatted.LinePatternCompilation";
+
+    @Label("Pattern")
+    String pattern;
+
+    @Label("Argument Count")
+    int argumentCount;
+
+    /**
+     * Creates and begins the event. Should be called only when {@link FlightRecorderSupport#AVAILABLE}.
+     */
+    static LinePatternCompilationEvent start() {
+        var event = new LinePatternCompilationEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(Pattern pattern, int argumentCount) {
+        end();
+        if (shouldCommit()) {
+            this.pattern = pattern.pattern();
+            this.argumentCount = argumentCount;
+            commit();
+        }
+    }
+
+}
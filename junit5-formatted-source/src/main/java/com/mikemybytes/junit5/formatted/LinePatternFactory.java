@@ -1,9 +1,13 @@
 package com.mikemybytes.junit5.formatted;
 
+import com.mikemybytes.junit5.formatted.spi.FormatRules;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 class LinePatternFactory {
 
@@ -14,16 +18,34 @@ class LinePatternFactory {
     /**
      * Creates {@link Pattern} that could be used to extract argument values out of the given input line.
      *
-     * @param formatString                       Format string as defined in one of the annotations
-     * @param matchingFormatArgumentPlaceholders {@link MatchResult} of the argument placeholders in the format string
-     * @param formatArgumentsOrder               the order of arguments represented as the order of their indexes
+     * @param textParts            literal parts of the format string, as returned by {@link #tokenize}
+     * @param formatArgumentsOrder the order of arguments represented as the order of their indexes
      */
-    static Pattern create(
-            String formatString,
-            List<MatchResult> matchingFormatArgumentPlaceholders,
-            List<Integer> formatArgumentsOrder) {
+    static Pattern create(List<String> textParts, List<Integer> formatArgumentsOrder) {
+        List<ArgumentType> argumentTypes = Collections.nCopies(formatArgumentsOrder.size(), ArgumentType.TEXT);
+        return create(textParts, formatArgumentsOrder, argumentTypes);
+    }
 
-        List<String> textParts = tokenize(formatString, matchingFormatArgumentPlaceholders);
+    /**
+     * Creates {@link Pattern} that could be used to extract argument values out of the given input line. Typed
+     * arguments are matched only with the sub-patterns of their {@link ArgumentType}.
+     *
+     * <p>Every argument is semantically a greedy group, but the quantifiers are chosen to limit backtracking on long
+     * lines without changing the results: groups that cannot give back any characters (e.g. the last one) are
+     * possessive, while an untyped group directly following another untyped one is always empty (the preceding
+     * greedy group leaves nothing to it), so it is not matched with {@code .*} at all.</p>
+     *
+     * @param textParts            literal parts of the format string, as returned by {@link #tokenize}
+     * @param formatArgumentsOrder the order of arguments represented as the order of their indexes
+     * @param argumentTypes        types of the arguments (indexed by the argument index)
+     */
+    static Pattern create(
+            List<String> textParts,
+            List<Integer> formatArgumentsOrder,
+            List<ArgumentType> argumentTypes) {
+        LinePatternCompilationEvent event = FlightRecorderSupport.AVAILABLE
+                ? LinePatternCompilationEvent.start()
+                : null;
 
         StringBuilder lineRegex = new StringBuilder();
         for (int i = 0; i < textParts.size(); i++) {
@@ -31,15 +53,66 @@ class LinePatternFactory {
                 lineRegex.append(Pattern.quote(textParts.get(i)));
             }
             if (i < formatArgumentsOrder.size()) {
-                var group = new FormatArgumentMatcherGroup(formatArgumentsOrder.get(i));
+                var group = new FormatArgumentMatcherGroup(
+                        formatArgumentsOrder.get(i),
+                        valueRegex(textParts, formatArgumentsOrder, argumentTypes, i)
+                );
                 lineRegex.append(group.getRegex());
             }
         }
 
-        return Pattern.compile(lineRegex.toString());
+        Pattern pattern = Pattern.compile(lineRegex.toString());
+
+        if (event != null) {
+            event.finish(pattern, formatArgumentsOrder.size());
+        }
+        return pattern;
     }
 
-    private static List<String> tokenize(String formatString, List<MatchResult> matchingFormatArgumentPlaceholders) {
+    private static String valueRegex(
+            List<String> textParts,
+            List<Integer> formatArgumentsOrder,
+            List<ArgumentType> argumentTypes,
+            int position) {
+        ArgumentType type = argumentTypes.get(formatArgumentsOrder.get(position));
+        boolean adjacentToUntyped = position > 0
+                && textParts.get(position).isEmpty()
+                && argumentTypes.get(formatArgumentsOrder.get(position - 1)) == ArgumentType.TEXT;
+        if (type == ArgumentType.TEXT && adjacentToUntyped) {
+            return "";
+        }
+        return type.regexFollowedBy(textParts.get(position + 1), position == formatArgumentsOrder.size() - 1);
+    }
+
+    /**
+     * Finds the ambiguities of the format, where the boundaries between argument values depend on the values
+     * themselves: adjacent placeholders and untyped placeholders separated only by whitespace. Such formats still
+     * work (the earlier values take as many characters as possible), but most likely not as intended. The rules are
+     * defined by {@link FormatRules}, shared with the annotation processor.
+     *
+     * @param textParts            literal parts of the format string, as returned by {@link #tokenize}
+     * @param formatArgumentsOrder the order of arguments represented as the order of their indexes
+     * @param argumentTypes        types of the arguments (indexed by the argument index)
+     * @return descriptions of the found ambiguities (empty for unambiguous formats)
+     */
+    static List<String> findAmbiguities(
+            List<String> textParts,
+            List<Integer> formatArgumentsOrder,
+            List<ArgumentType> argumentTypes) {
+        List<String> typeNames = formatArgumentsOrder.stream()
+                .map(argumentIndex -> argumentTypes.get(argumentIndex).getName())
+                .collect(Collectors.toList());
+        return FormatRules.findAmbiguities(textParts, formatArgumentsOrder, typeNames);
+    }
+
+    /**
+     * Splits the format string into its literal parts (text surrounding the argument placeholders). The result always
+     * contains one element more than the number of placeholders - empty strings represent no text between them.
+     *
+     * @param formatString                       Format string as defined in one of the annotations
+     * @param matchingFormatArgumentPlaceholders {@link MatchResult} of the argument placeholders in the format string
+     */
+    static List<String> tokenize(String formatString, List<MatchResult> matchingFormatArgumentPlaceholders) {
         List<String> tokens = new ArrayList<>();
 
         int startIndex = 0;
@@ -0,0 +1,98 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.List;
+
+/**
+ * {@link LineMatcher} splitting input lines using plain {@link String#indexOf} scans over the literal parts of the
+ * format (the text between argument placeholders), without involving any regular expressions.
+ *
+ * <p>The results are the same as for the {@link RegexLineMatcher}, where every argument is represented as a greedy
+ * {@code .*} group. Greedy groups make each literal part match as far to the right as possible, so the literals are
+ * located from the last one to the first one with {@link String#lastIndexOf}. As {@code .} does not match line
+ * terminators, lines containing them never match, unless the literals contain line terminators as well - only then
+ * such lines are delegated to the regex-based matcher (which could backtrack heavily on long lines).</p>
+ */
+class LiteralDelimitedLineMatcher implements LineMatcher {
+
+    /**
+     * Literal parts of the format - always one more than the number of arguments (some of them might be empty).
+     */
+    private final String[] literals;
+    private final int[] argumentsOrder;
+    /**
+     * Matcher for the lines containing line terminators or {@code null} when such lines could never match.
+     */
+    private final LineMatcher fallback;
+
+    LiteralDelimitedLineMatcher(List<String> literals, List<Integer> argumentsOrder, LineMatcher fallback) {
+        Preconditions.require(literals.size() == argumentsOrder.size() + 1);
+        this.literals = literals.toArray(new String[0]);
+        this.argumentsOrder = argumentsOrder.stream().mapToInt(Integer::intValue).toArray();
+        this.fallback = literals.stream().anyMatch(LiteralDelimitedLineMatcher::containsLineTerminator)
+                ? fallback
+                : null;
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds) {
+        if (containsLineTerminator(line)) {
+            return fallback != null && fallback.match(line, bounds);
+        }
+        return matchLiterals(line, bounds);
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds, long steps) {
+        if (containsLineTerminator(line)) {
+            return fallback != null && fallback.match(line, bounds, steps);
+        }
+        return matchLiterals(line, bounds);
+    }
+
+    private boolean matchLiterals(String line, int[] bounds) {
+
+        int argumentCount = argumentsOrder.length;
+        String prefix = literals[0];
+        String suffix = literals[argumentCount];
+
+        if (argumentCount == 0) {
+            return line.equals(prefix);
+        }
+        if (line.length() < prefix.length() + suffix.length() || !line.startsWith(prefix) || !line.endsWith(suffix)) {
+            return false;
+        }
+
+        // the value of each placeholder spans from the end of its preceding literal to the start of the next one
+        int nextLiteralStart = line.length() - suffix.length();
+        for (int i = argumentCount - 1; i > 0; i--) {
+            String literal = literals[i];
+            int literalStart = line.lastIndexOf(literal, nextLiteralStart - literal.length());
+            if (literalStart < prefix.length()) { // also covers "not found"
+                return false;
+            }
+            setBounds(bounds, argumentsOrder[i], literalStart + literal.length(), nextLiteralStart);
+            nextLiteralStart = literalStart;
+        }
+        setBounds(bounds, argumentsOrder[0], prefix.length(), nextLiteralStart);
+        return true;
+    }
+
+    private static void setBounds(int[] bounds, int argumentIndex, int start, int end) {
+        bounds[2 * argumentIndex] = start;
+        bounds[2 * argumentIndex + 1] = end;
+    }
+
+    /**
+     * Checks for the characters that are not matched by {@code .} in the {@link java.util.regex.Pattern} default mode.
+     */
+    static boolean containsLineTerminator(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.mikemybytes.junit5.formatted;
+
+/**
+ * Minimal open-addressing hash set of {@code long} values, storing them in a single primitive array (8 bytes per slot,
+ * no per-element objects). Not thread-safe.
+ */
+final class LongHashSet {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Slots of the set - {@code 0} represents an empty slot, so zero itself is tracked separately.
+     */
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private boolean containsZero;
+    private int size;
+
+    /**
+     * Adds the given value to the set.
+     *
+     * @return {@code true} if the value was not present in the set before
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        if (2 * (size + 1) > slots.length) {
+            resize();
+        }
+        if (!insert(slots, value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    private static boolean insert(long[] slots, long value) {
+        int mask = slots.length - 1;
+        // the values are expected to be well distributed hashes already
+        int index = (int) (value ^ (value >>> 32)) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        return true;
+    }
+
+    private void resize() {
+        long[] resized = new long[2 * slots.length];
+        for (long value : slots) {
+            if (value != 0) {
+                insert(resized, value);
+            }
+        }
+        slots = resized;
+    }
+
+    int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Reads lines of a (potentially huge) file using memory-mapped NIO {@link FileChannel}. The file is mapped in windows
+ * of a fixed size and only the current window gets decoded, so the file content never has to be fully loaded onto the
+ * heap.
+ *
+ * <p>Lines are split the same way as by {@link String#lines()}: using {@code \n}, {@code \r} or {@code \r\n} as line
+ * terminators.</p>
+ */
+class MappedFileLineReader implements Closeable {
+
+    /**
+     * Default size (in bytes) of the file region mapped at once.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 16 * 1024 * 1024;
+
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder();
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean flushing;
+    private boolean finished;
+    private boolean skipLineFeed;
+
+    MappedFileLineReader(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileLineReader(Path path, Charset charset, int windowSize) throws IOException {
+        // a single window must always be able to hold at least one encoded character
+        require(windowSize >= 16, "Window size is too small");
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.decoder = charset.newDecoder();
+        this.chars.flip(); // nothing decoded yet
+        mapWindow(0);
+    }
+
+    /**
+     * Reads the next line of the file.
+     *
+     * @return the next line (without line terminator characters) or {@code null} when the end of the file is reached
+     */
+    String readLine() throws IOException {
+        while (true) {
+            if (!chars.hasRemaining() && !fill()) {
+                return line.length() > 0 ? takeLine() : null;
+            }
+            char c = chars.get();
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '\n') {
+                return takeLine();
+            }
+            if (c == '\r') {
+                skipLineFeed = true;
+                return takeLine();
+            }
+            line.append(c);
+        }
+    }
+
+    private String takeLine() {
+        String value = line.toString();
+        line.setLength(0);
+        return value;
+    }
+
+    /**
+     * Decodes the next portion of characters from the current window, moving to the next window when needed.
+     *
+     * @return {@code true} if any characters have been decoded, {@code false} on the end of the file
+     */
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !finished) {
+            boolean lastWindow = windowStart + window.limit() >= fileSize;
+            if (flushing) {
+                finished = decoder.flush(chars).isUnderflow();
+                continue;
+            }
+
+            CoderResult result = decoder.decode(window, chars, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isUnderflow()) {
+                if (lastWindow) {
+                    flushing = true;
+                } else {
+                    // remaining bytes might be an incomplete character - next window starts right at them
+                    mapWindow(windowStart + window.position());
+                }
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private void mapWindow(long start) throws IOException {
+        long size = Math.min(windowSize, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent cache of the argument values extracted by the {@link ArgumentsExtractor}. Values are stored as compact
+ * binary files, named after the SHA-256 hash of the test case input and the {@link ArgumentsExtractor#fingerprint}.
+ * Subsequent runs over the unchanged input read the values directly, skipping matching and unquoting entirely.
+ *
+ * <p>Cache files are always written to a temporary file first and then atomically moved to their final location.
+ * This way, multiple JVMs (e.g. Surefire forks) can safely read and populate the same cache directory at once -
+ * a cache file is either complete or not visible at all.</p>
+ */
+class ParsedArgumentsCache {
+
+    /**
+     * "FSC" + format version.
+     */
+    private static final int MAGIC = 0x46534301;
+    private static final String FILE_EXTENSION = ".fsc";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+
+    private final Path directory;
+
+    ParsedArgumentsCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns test arguments for the given input, reading them from the cache when possible. Otherwise, the lines are
+     * being parsed lazily and stored in the cache once all of them have been consumed.
+     *
+     * @param lines     supplier of the test case input lines - called twice on a cache miss
+     * @param extractor extractor used to extract test arguments out of each line
+     */
+    Stream<Arguments> get(Supplier<Stream<String>> lines, ArgumentsExtractor extractor) {
+        Path cacheFile = directory.resolve(hash(lines, extractor) + FILE_EXTENSION);
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                return read(cacheFile, extractor);
+            } catch (NoSuchFileException e) {
+                // removed in the meantime - parsing once again
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read cache file: " + cacheFile, e);
+            }
+        }
+        return parseAndWrite(lines.get(), extractor, cacheFile);
+    }
+
+    private static String hash(Supplier<Stream<String>> lines, ArgumentsExtractor extractor) {
+        MessageDigest digest = sha256();
+        digest.update(extractor.fingerprint().getBytes(StandardCharsets.UTF_8));
+        try (Stream<String> input = lines.get()) {
+            input.forEachOrdered(line -> {
+                digest.update((byte) '\n');
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            });
+        }
+
+        var hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e); // mandatory for every Java platform
+        }
+    }
+
+    private static Stream<Arguments> read(Path cacheFile, ArgumentsExtractor extractor) throws IOException {
+        var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile), BUFFER_SIZE));
+        try {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Unsupported cache file format");
+            }
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+
+        var spliterator = new Spliterators.AbstractSpliterator<Arguments>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Arguments> action) {
+                try {
+                    if (input.readByte() == END) {
+                        return false;
+                    }
+                    String line = readString(input);
+                    Object[] values = new Object[input.readInt()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = input.readByte() == NULL_VALUE ? null : extractor.restoreValue(i, readString(input));
+                    }
+                    action.accept(extractor.toArguments(line, values));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to read cache file: " + cacheFile, e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(input));
+    }
+
+    private static Stream<Arguments> parseAndWrite(Stream<String> lines, ArgumentsExtractor extractor, Path cacheFile) {
+        Writer writer = Writer.open(cacheFile);
+        Iterator<String> iterator = lines.iterator();
+
+        var spliterator = new Spliterators.AbstractSpliterator<Arguments>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Arguments> action) {
+                if (!iterator.hasNext()) {
+                    writer.complete();
+                    return false;
+                }
+                String line = iterator.next();
+                Object[] values = extractor.extractValues(line);
+                writer.write(line, values);
+                action.accept(extractor.toArguments(line, values));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(writer::close)
+                .onClose(lines::close);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Writes a single cache file. As caching is just an optimization, any I/O failure only abandons the cache file
+     * without affecting the test execution.
+     */
+    private static final class Writer {
+
+        private final Path cacheFile;
+        private final Path tempFile;
+        private DataOutputStream output;
+        private boolean completed;
+
+        private Writer(Path cacheFile, Path tempFile, DataOutputStream output) {
+            this.cacheFile = cacheFile;
+            this.tempFile = tempFile;
+            this.output = output;
+        }
+
+        static Writer open(Path cacheFile) {
+            try {
+                Path directory = cacheFile.getParent();
+                Files.createDirectories(directory);
+                Path tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+                var output = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE)
+                );
+                output.writeInt(MAGIC);
+                return new Writer(cacheFile, tempFile, output);
+            } catch (IOException e) {
+                return new Writer(cacheFile, null, null);
+            }
+        }
+
+        void write(String line, Object[] values) {
+            if (output == null) {
+                return;
+            }
+            try {
+                output.writeByte(ROW);
+                writeString(output, line);
+                output.writeInt(values.length);
+                for (Object value : values) {
+                    if (value == null) {
+                        output.writeByte(NULL_VALUE);
+                    } else {
+                        output.writeByte(STRING_VALUE);
+                        writeString(output, value.toString());
+                    }
+                }
+            } catch (IOException e) {
+                abandon();
+            }
+        }
+
+        /**
+         * Marks all the lines as written. Only completed cache files are being published.
+         */
+        void complete() {
+            if (output == null || completed) {
+                return;
+            }
+            try {
+                output.writeByte(END);
+                completed = true;
+            } catch (IOException e) {
+                abandon();
+            }
+        }
+
+        void close() {
+            if (output == null) {
+                return;
+            }
+            if (!completed) {
+                abandon();
+                return;
+            }
+            try {
+                output.close();
+                output = null;
+                Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                abandon();
+            }
+        }
+
+        private void abandon() {
+            if (output != null) {
+                closeQuietly(output);
+                output = null;
+            }
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+
+    }
+
+}
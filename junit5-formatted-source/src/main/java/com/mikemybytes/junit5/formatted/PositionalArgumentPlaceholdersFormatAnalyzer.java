@@ -1,5 +1,6 @@
 package com.mikemybytes.junit5.formatted;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -10,7 +11,9 @@ import static com.mikemybytes.junit5.formatted.Preconditions.require;
 
 /**
  * Creates {@link FormatSpecification} for positional argument placeholders. The order of arguments is determined
- * based on their order of appearance. The same (provided) placeholder string is used to represent them.
+ * based on their order of appearance. The same (provided) placeholder string is used to represent them. Placeholders
+ * directly followed by a colon and one of the {@link ArgumentType} names (e.g. {@code ?:int}) define the type of their
+ * values.
  */
 class PositionalArgumentPlaceholdersFormatAnalyzer implements FormatAnalyzer {
 
@@ -34,13 +37,49 @@ class PositionalArgumentPlaceholdersFormatAnalyzer implements FormatAnalyzer {
                 .boxed()
                 .collect(Collectors.toList());
 
-        Pattern linePattern = LinePatternFactory.create(formatString, matchResults, formatArgumentsOrder);
+        List<ArgumentType> argumentTypes = new ArrayList<>();
+        for (MatchResult placeholder : matchResults) {
+            argumentTypes.add(placeholder.group(1) != null
+                    ? ArgumentType.fromName(placeholder.group(1))
+                    : ArgumentType.TEXT);
+        }
 
-        return new FormatSpecification(linePattern, formatArgumentsOrder);
+        List<String> textParts = LinePatternFactory.tokenize(formatString, matchResults);
+        Pattern linePattern = LinePatternFactory.create(textParts, formatArgumentsOrder, argumentTypes);
+        LineMatcher lineMatcher = LineMatchers.from(linePattern, textParts, formatArgumentsOrder, argumentTypes);
+        List<String> ambiguities = LinePatternFactory.findAmbiguities(textParts, formatArgumentsOrder, argumentTypes);
+
+        return new FormatSpecification(
+                linePattern,
+                formatArgumentsOrder,
+                List.copyOf(argumentTypes),
+                ambiguities,
+                lineMatcher
+        );
+    }
+
+    /**
+     * Analyzes the alternative format. As the arguments are identified by their position, an alternative format
+     * defining fewer placeholders than the main one omits its last arguments.
+     */
+    @Override
+    public FormatAlternative analyzeAlternative(String formatString, int argumentCount) {
+        List<MatchResult> matchResults = matchFormatArgumentPlaceholders(formatString);
+        require(
+                matchResults.size() <= argumentCount,
+                () -> "Alternative format \"" + formatString + "\" defines " + matchResults.size()
+                        + " arguments, while the main format defines only " + argumentCount
+        );
+        String leadingLiteral = matchResults.isEmpty()
+                ? formatString
+                : formatString.substring(0, matchResults.get(0).start());
+        return new FormatAlternative(formatString, leadingLiteral, analyze(formatString, argumentCount));
     }
 
     private List<MatchResult> matchFormatArgumentPlaceholders(String formatString) {
-        return Pattern.compile(Pattern.quote(argumentPlaceholder))
+        // type names are recognized only as whole words, so e.g. "?:integer" remains a placeholder followed by text
+        String typeSuffix = "(?::(" + ArgumentType.names("|") + ")(?!\\w))?";
+        return Pattern.compile(Pattern.quote(argumentPlaceholder) + typeSuffix)
                 .matcher(formatString)
                 .results()
                 .collect(Collectors.toList());
@@ -0,0 +1,158 @@
+package com.mikemybytes.junit5.formatted;
+
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormat;
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormats;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Looks up {@link FormatSpecification} objects created out of the {@link PrecompiledFormat} classes generated at
+ * compile time, so the format does not have to be analyzed while running the tests. Test classes compiled without the
+ * annotation processor simply have no precompiled formats.
+ *
+ * <p>Generated classes export their packages to this module while being initialized, so they could be instantiated
+ * also when the tests run as a named module.</p>
+ */
+class PrecompiledFormatSpecifications {
+
+    private static final ClassValue<Map<List<Object>, FormatSpecification>> SPECIFICATIONS = new ClassValue<>() {
+        @Override
+        protected Map<List<Object>, FormatSpecification> computeValue(Class<?> testClass) {
+            return load(testClass);
+        }
+    };
+
+    private PrecompiledFormatSpecifications() {
+        // static only
+    }
+
+    /**
+     * Returns precompiled {@link FormatSpecification} for the given source data, if available.
+     *
+     * @param testClass               class declaring the test method
+     * @param sourceData              annotation data
+     * @param expectedParameterCount  number of the test method parameters
+     */
+    static Optional<FormatSpecification> find(
+            Class<?> testClass,
+            FormattedSourceData sourceData,
+            int expectedParameterCount) {
+        List<Object> key = key(
+                sourceData.getFormatString(),
+                sourceData.getArgumentPlaceholder().orElse(""),
+                sourceData.getAlternativeFormats(),
+                sourceData.isTable()
+        );
+        // invalid usages are left to the runtime analysis, so they are reported exactly the same way
+        return Optional.ofNullable(SPECIFICATIONS.get(testClass).get(key))
+                .filter(specification -> specification.getArgumentsOrder().size() <= expectedParameterCount);
+    }
+
+    static String generatedClassName(Class<?> testClass) {
+        String packageName = testClass.getPackageName();
+        String binaryName = packageName.isEmpty()
+                ? testClass.getName()
+                : testClass.getName().substring(packageName.length() + 1);
+        String simpleName = binaryName.replace('$', '_') + PrecompiledFormats.CLASS_NAME_SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static Map<List<Object>, FormatSpecification> load(Class<?> testClass) {
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(generatedClassName(testClass), true, testClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Map.of();
+        }
+        if (!PrecompiledFormats.class.isAssignableFrom(generatedClass)) {
+            return Map.of();
+        }
+
+        PrecompiledFormats formats;
+        try {
+            formats = (PrecompiledFormats) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new IllegalStateException("Unable to load precompiled formats: " + generatedClass.getName(), cause);
+        }
+
+        Map<List<Object>, FormatSpecification> specifications = new HashMap<>();
+        for (PrecompiledFormat format : formats.formats()) {
+            // neither alternative formats nor tables are ever precompiled
+            List<Object> key = key(format.format(), format.argumentPlaceholder(), List.of(), false);
+            specifications.put(key, toSpecification(format));
+        }
+        return specifications;
+    }
+
+    private static FormatSpecification toSpecification(PrecompiledFormat format) {
+        List<String> literals = List.copyOf(format.literals());
+        List<Integer> argumentsOrder = List.copyOf(format.argumentsOrder());
+        Preconditions.require(literals.size() == argumentsOrder.size() + 1);
+        return new FormatSpecification(
+                () -> LinePatternFactory.create(literals, argumentsOrder),
+                argumentsOrder,
+                new PrecompiledLineMatcher(format, literals, argumentsOrder)
+        );
+    }
+
+    /**
+     * Creates lookup key consisting of all the annotation attributes affecting the format analysis.
+     */
+    private static List<Object> key(
+            String format,
+            String argumentPlaceholder,
+            List<String> alternativeFormats,
+            boolean table) {
+        return List.of(format, argumentPlaceholder, alternativeFormats, table);
+    }
+
+    /**
+     * Delegates matching to the generated code, except for the lines containing line terminators, which are matched
+     * with a lazily created {@link RegexLineMatcher} (see {@link LiteralDelimitedLineMatcher}).
+     */
+    private static final class PrecompiledLineMatcher implements LineMatcher {
+
+        private final PrecompiledFormat format;
+        private final List<String> literals;
+        private final List<Integer> argumentsOrder;
+        private volatile LineMatcher regexLineMatcher;
+
+        PrecompiledLineMatcher(PrecompiledFormat format, List<String> literals, List<Integer> argumentsOrder) {
+            this.format = format;
+            this.literals = literals;
+            this.argumentsOrder = argumentsOrder;
+        }
+
+        @Override
+        public boolean match(String line, int[] bounds) {
+            if (LiteralDelimitedLineMatcher.containsLineTerminator(line)) {
+                return regexLineMatcher().match(line, bounds);
+            }
+            return format.match(line, bounds);
+        }
+
+        @Override
+        public boolean match(String line, int[] bounds, long steps) {
+            if (LiteralDelimitedLineMatcher.containsLineTerminator(line)) {
+                return regexLineMatcher().match(line, bounds, steps);
+            }
+            return format.match(line, bounds);
+        }
+
+        private LineMatcher regexLineMatcher() {
+            LineMatcher result = regexLineMatcher;
+            if (result == null) {
+                result = new RegexLineMatcher(LinePatternFactory.create(literals, argumentsOrder), argumentsOrder);
+                regexLineMatcher = result;
+            }
+            return result;
+        }
+
+    }
+
+}
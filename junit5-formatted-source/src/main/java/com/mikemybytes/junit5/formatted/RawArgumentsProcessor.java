@@ -2,20 +2,19 @@ package com.mikemybytes.junit5.formatted;
 
 import org.junit.jupiter.api.Named;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.BiFunction;
 
 /**
- * Defines method of processing raw arguments coming from the provided test case input string.
+ * Defines method of processing raw arguments coming from the provided test case input string. Processors may modify
+ * the passed arguments array in place, in order to avoid unnecessary copying.
  */
-interface RawArgumentsProcessor extends BiFunction<String, List<String>, List<Object>> {
+interface RawArgumentsProcessor extends BiFunction<String, Object[], Object[]> {
 
     /**
      * Simple, pass through processor, that does nothing with the raw test case arguments.
      */
     static RawArgumentsProcessor passThrough() {
-        return (rawInput, rawArguments) -> new ArrayList<>(rawArguments);
+        return (rawInput, rawArguments) -> rawArguments;
     }
 
     /**
@@ -24,12 +23,27 @@ interface RawArgumentsProcessor extends BiFunction<String, List<String>, List<Ob
      */
     static RawArgumentsProcessor testCaseName() {
         return (rawInput, rawArguments) -> {
-            Preconditions.require(!rawArguments.isEmpty());
+            Preconditions.require(rawArguments.length > 0);
 
-            List<Object> namedArgs = new ArrayList<>(rawArguments);
-            namedArgs.set(0, Named.of(rawInput, namedArgs.get(0)));
-            return namedArgs;
+            rawArguments[0] = Named.of(rawInput, rawArguments[0]);
+            return rawArguments;
         };
     }
 
+    /**
+     * Arguments processor replacing all the raw arguments with a single {@link FormattedRow}, to be grouped into
+     * {@link FormattedRows} batches later on.
+     */
+    static RawArgumentsProcessor formattedRow() {
+        return (rawInput, rawArguments) -> new Object[]{new FormattedRow(rawInput, rawArguments)};
+    }
+
+    /**
+     * Returns the processor appropriate for the given source data: {@link #formattedRow()} in the batch mode or the
+     * given one otherwise.
+     */
+    static RawArgumentsProcessor forSourceData(FormattedSourceData sourceData, RawArgumentsProcessor processor) {
+        return sourceData.isBatched() ? formattedRow() : processor;
+    }
+
 }
@@ -0,0 +1,78 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link LineMatcher} using the {@link Pattern} created by {@link LinePatternFactory}. Works for every format, but
+ * relies on the (backtracking) regular expressions engine.
+ */
+class RegexLineMatcher implements LineMatcher {
+
+    private final Pattern pattern;
+    /**
+     * Numeric capturing group of each argument (indexed by the argument index). Capturing groups are numbered by their
+     * position within the pattern, which follows the order of placeholders in the format. Arguments omitted by the
+     * format (see {@link AlternativeFormats}) have no group ({@code 0}), so their boundaries are left untouched.
+     */
+    private final int[] argumentGroups;
+    /**
+     * {@link Matcher} objects are not thread-safe, but could be reused by resetting them with the next input.
+     */
+    private final ThreadLocal<Matcher> matchers;
+    private final ThreadLocal<BudgetedCharSequence> budgetedInputs;
+
+    RegexLineMatcher(Pattern pattern, List<Integer> argumentsOrder) {
+        this.pattern = pattern;
+        this.argumentGroups = new int[argumentsOrder.stream().mapToInt(Integer::intValue).max().orElse(-1) + 1];
+        for (int i = 0; i < argumentsOrder.size(); i++) {
+            argumentGroups[argumentsOrder.get(i)] = i + 1;
+        }
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        this.budgetedInputs = ThreadLocal.withInitial(BudgetedCharSequence::new);
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds) {
+        Matcher formatMatcher = matchers.get().reset(line);
+        return formatMatcher.matches() && captureBounds(formatMatcher, bounds);
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds, long steps) {
+        BudgetedCharSequence input = budgetedInputs.get().reset(line, steps);
+        Matcher formatMatcher = matchers.get().reset(input);
+        try {
+            return formatMatcher.matches() && captureBounds(formatMatcher, bounds);
+        } catch (BudgetedCharSequence.BudgetExceededException e) {
+            throw new IllegalArgumentException(
+                    "Matching the line exceeded the budget of " + steps + " steps: " + abbreviate(line)
+            );
+        } finally {
+            // not keeping the line reachable from the thread
+            formatMatcher.reset("");
+            input.reset("", 0);
+        }
+    }
+
+    private boolean captureBounds(Matcher formatMatcher, int[] bounds) {
+        for (int argumentIndex = 0; argumentIndex < argumentGroups.length; argumentIndex++) {
+            if (argumentGroups[argumentIndex] == 0) {
+                continue;
+            }
+            bounds[2 * argumentIndex] = formatMatcher.start(argumentGroups[argumentIndex]);
+            bounds[2 * argumentIndex + 1] = formatMatcher.end(argumentGroups[argumentIndex]);
+        }
+        return true;
+    }
+
+    private static String abbreviate(String line) {
+        int maxLength = 120;
+        if (line.length() <= maxLength) {
+            return line;
+        }
+        return line.substring(0, maxLength) + "... (" + line.length() + " characters)";
+    }
+
+}
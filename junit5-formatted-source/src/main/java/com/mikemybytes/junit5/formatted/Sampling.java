@@ -0,0 +1,117 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Reproducible sample of the test case input lines, intended for running just a fraction of huge data sets. Each line
+ * gets a pseudo-random rank derived from its content and the seed, so the same seed always gives the same sample
+ * (regardless of the JVM), while different seeds give different ones.
+ *
+ * <p>The percentage limit keeps the lines with the rank below the given fraction, so it works in a streaming fashion.
+ * The row limit keeps the lines with the lowest ranks, which requires reading all the lines (keeping at most
+ * {@code maxRows} of them in memory). Sampled lines always preserve their original order.</p>
+ */
+final class Sampling {
+
+    private final double percentage;
+    private final double fraction;
+    private final int maxRows;
+    private final long seed;
+
+    /**
+     * @param percentage percentage of lines to keep (greater than 0 and at most 100)
+     * @param maxRows    maximum number of lines to keep ({@link Integer#MAX_VALUE} for no limit)
+     * @param seed       seed of the line ranks
+     */
+    Sampling(double percentage, int maxRows, long seed) {
+        require(
+                percentage > 0 && percentage <= 100,
+                () -> "Sampling percentage must be greater than 0 and at most 100 but was " + percentage
+        );
+        require(maxRows > 0, () -> "Sampling row limit must be positive but was " + maxRows);
+        this.percentage = percentage;
+        this.fraction = percentage / 100;
+        this.maxRows = maxRows;
+        this.seed = seed;
+    }
+
+    Stream<String> apply(Stream<String> lines) {
+        Stream<String> sampled = fraction < 1 ? lines.filter(line -> toFraction(rank(line)) < fraction) : lines;
+        return maxRows < Integer.MAX_VALUE ? limit(sampled) : sampled;
+    }
+
+    /**
+     * Keeps {@link #maxRows} lines with the lowest ranks.
+     */
+    private Stream<String> limit(Stream<String> lines) {
+        // the highest rank on top, so it could be replaced with a lower one
+        var selected = new PriorityQueue<RankedLine>(Comparator.reverseOrder());
+        try (lines) {
+            Iterator<String> iterator = lines.iterator();
+            for (long position = 0; iterator.hasNext(); position++) {
+                String line = iterator.next();
+                selected.add(new RankedLine(line, rank(line), position));
+                if (selected.size() > maxRows) {
+                    selected.poll();
+                }
+            }
+        }
+
+        List<RankedLine> result = new ArrayList<>(selected);
+        result.sort(Comparator.comparingLong(RankedLine::getPosition));
+        return result.stream().map(RankedLine::getLine);
+    }
+
+    private long rank(String line) {
+        // SplitMix64 finalizer, spreading String::hashCode (specified, so the same for every JVM) combined with seed
+        long z = seed + 0x9E3779B97F4A7C15L * (line.hashCode() + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double toFraction(long rank) {
+        return (rank >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public String toString() {
+        return "sampling of " + percentage + "%" + (maxRows < Integer.MAX_VALUE ? " (up to " + maxRows + " rows)" : "");
+    }
+
+    private static final class RankedLine implements Comparable<RankedLine> {
+
+        private final String line;
+        private final long rank;
+        private final long position;
+
+        RankedLine(String line, long rank, long position) {
+            this.line = line;
+            this.rank = rank;
+            this.position = position;
+        }
+
+        String getLine() {
+            return line;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        @Override
+        public int compareTo(RankedLine other) {
+            int result = Long.compareUnsigned(rank, other.rank);
+            return result != 0 ? result : Long.compare(position, other.position);
+        }
+
+    }
+
+}
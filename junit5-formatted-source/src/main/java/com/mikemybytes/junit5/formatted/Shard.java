@@ -0,0 +1,58 @@
+package com.mikemybytes.junit5.formatted;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Deterministic slice of the test case input lines, allowing to split a single data set across multiple JVMs (e.g. CI
+ * nodes). Lines are assigned to shards by a stable hash of their content, so adding or removing lines does not move
+ * any other line to a different shard.
+ */
+final class Shard {
+
+    private final int index;
+    private final int count;
+
+    Shard(int index, int count) {
+        require(count > 0, () -> "Shard count must be positive but was " + count);
+        require(
+                index >= 0 && index < count,
+                () -> "Shard index must be between 0 and " + (count - 1) + " but was " + index
+        );
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Checks whether the given line belongs to this shard.
+     */
+    boolean contains(String line) {
+        return Math.floorMod(mix(line.hashCode()), count) == index;
+    }
+
+    /**
+     * Spreads the bits of {@link String#hashCode} (which is specified, so the same for every JVM), as its lower bits
+     * alone are distributed poorly for similar lines (finalization step of the MurmurHash3).
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count;
+    }
+
+}
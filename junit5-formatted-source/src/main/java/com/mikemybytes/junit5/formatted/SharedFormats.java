@@ -0,0 +1,73 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Optional;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Resolves formats declared once for the whole test class (or package) with {@link FormattedSourceFormat}. Found
+ * declarations are kept in the {@link ExtensionContext.Store} of the test class, so they are looked up only once
+ * for all of its test methods.
+ */
+final class SharedFormats {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedFormats.class);
+
+    private SharedFormats() {
+        // static only
+    }
+
+    /**
+     * Returns the given source data defined in the shared format, when its own format has been omitted (except for
+     * the table mode, which does not need any format). Otherwise, returns the source data unchanged.
+     *
+     * @param context    extension context of the test method
+     * @param sourceData source data read from the test method annotation
+     */
+    static FormattedSourceData apply(ExtensionContext context, FormattedSourceData sourceData) {
+        if (!sourceData.isFormatOmitted() || sourceData.isTable()) {
+            return sourceData;
+        }
+
+        Class<?> declaringClass = context.getRequiredTestMethod().getDeclaringClass();
+        Optional<FormattedSourceFormat> declaration = classContext(context).getStore(NAMESPACE)
+                .getOrComputeIfAbsent(declaringClass, SharedFormats::findDeclaration, Optional.class);
+        require(
+                declaration.isPresent(),
+                () -> "Format must be defined either by the test method annotation or with @"
+                        + FormattedSourceFormat.class.getSimpleName() + " on " + declaringClass.getName()
+        );
+        return sourceData.withFormat(declaration.get());
+    }
+
+    /**
+     * Returns the context of the class declaring the test method (its parent), falling back to the given context.
+     */
+    static ExtensionContext classContext(ExtensionContext context) {
+        return context.getParent().orElse(context);
+    }
+
+    /**
+     * Looks the declaration up on the given class, its enclosing classes and finally its package.
+     */
+    static Optional<FormattedSourceFormat> findDeclaration(Class<?> declaringClass) {
+        for (Class<?> current = declaringClass; current != null; current = current.getEnclosingClass()) {
+            Optional<FormattedSourceFormat> declaration = declarationOf(current);
+            if (declaration.isPresent()) {
+                return declaration;
+            }
+        }
+        return declarationOf(declaringClass.getPackage());
+    }
+
+    private static Optional<FormattedSourceFormat> declarationOf(AnnotatedElement element) {
+        if (element == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(element.getAnnotation(FormattedSourceFormat.class));
+    }
+
+}
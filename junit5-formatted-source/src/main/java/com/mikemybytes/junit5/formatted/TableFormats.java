@@ -0,0 +1,171 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Supports the table mode, where the test case input is a pipe-delimited (Markdown or ASCII) table instead of lines
+ * in the user-defined format:
+ * <pre>
+ * | a | b | expectedSum |
+ * |---|---|-------------|
+ * | 1 | 2 | 3           |
+ * </pre>
+ * The first row of the table is its header, mapping each column to the test method parameter - either by the name of
+ * the parameter (available only when compiled with {@code -parameters}) or by its index in the {@code {x}} form.
+ * Markdown separator rows (with at least three dashes in each cell, e.g. {@code |---|:---:|}) and ASCII border rows
+ * (consisting only of {@code +}, {@code -}, {@code =} and {@code :}, e.g. {@code +---+---+}) are skipped. All the
+ * other rows represent test cases, sliced into cells with {@link TableLineMatcher}. In the batch mode, columns could
+ * refer only to the argument indexes.
+ */
+class TableFormats {
+
+    private static final String DASHES = "---";
+    private static final String BORDER_CHARACTERS = "+-=:";
+
+    private TableFormats() {
+        // static only
+    }
+
+    /**
+     * Creates {@link FormatSpecification} out of the header row of the table.
+     *
+     * @param sourceData source data of the test method, defining the table as its test case input
+     * @param testMethod test method consuming the table rows
+     */
+    static FormatSpecification analyze(FormattedSourceData sourceData, Method testMethod) {
+        require(sourceData.isFormatOmitted(), "Format must not be defined in the table mode");
+        require(
+                sourceData.getAlternativeFormats().isEmpty(),
+                "Alternative formats are not supported in the table mode"
+        );
+        Optional<String> header;
+        try (Stream<String> lines = sourceData.getLines()) {
+            header = lines.filter(line -> !isDecoration(line)).findFirst();
+        }
+        require(header.isPresent(), "Table must start with the header row");
+
+        List<String> columns = TableLineMatcher.cells(header.get(), sourceData.getQuoteCharacter());
+        // in the batch mode, all the arguments are delivered via a single FormattedRows parameter
+        Parameter[] parameters = sourceData.isBatched() ? new Parameter[0] : testMethod.getParameters();
+        List<Integer> columnArguments = new ArrayList<>();
+        for (String column : columns) {
+            columnArguments.add(argumentIndex(column, parameters, sourceData.isBatched(), testMethod));
+        }
+
+        require(
+                sourceData.isBatched() || columnArguments.size() <= parameters.length,
+                () -> "Number of method arguments is less than the number of table columns"
+        );
+        List<Integer> expectedIndexes = IntStream.range(0, columnArguments.size())
+                .boxed()
+                .collect(Collectors.toList());
+        require(
+                new HashSet<>(columnArguments).containsAll(expectedIndexes),
+                () -> "Table columns have to refer to the subsequent test method arguments: expected "
+                        + expectedIndexes + " but got " + columnArguments.stream().sorted().collect(Collectors.toList())
+        );
+
+        List<Integer> argumentsOrder = List.copyOf(columnArguments);
+        // equivalent pattern (bordered row) - used only to describe the format, e.g. in the persistent cache
+        List<String> literals = Collections.nCopies(argumentsOrder.size() + 1, "|");
+        return new FormatSpecification(
+                () -> LinePatternFactory.create(literals, argumentsOrder),
+                argumentsOrder,
+                new TableLineMatcher(argumentsOrder, sourceData.getQuoteCharacter())
+        );
+    }
+
+    /**
+     * Returns the rows representing test cases, skipping the header row, the separator rows and the border rows.
+     */
+    static Stream<String> rows(Stream<String> lines) {
+        return lines.filter(line -> !isDecoration(line)).skip(1);
+    }
+
+    private static int argumentIndex(String column, Parameter[] parameters, boolean batched, Method testMethod) {
+        if (column.length() > 2 && column.startsWith("{") && column.endsWith("}")) {
+            try {
+                return Integer.parseInt(column.substring(1, column.length() - 1));
+            } catch (NumberFormatException e) {
+                // not an index - falling back to the parameter names
+            }
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isNamePresent() && parameters[i].getName().equals(column)) {
+                return i;
+            }
+        }
+        if (batched) {
+            throw new IllegalArgumentException(
+                    "Table column \"" + column + "\" does not refer to any argument of " + testMethod.getName()
+                            + " - in the batch mode, only the argument indexes are supported as the column names "
+                            + "(e.g. {0})"
+            );
+        }
+        boolean namesPresent = parameters.length > 0 && parameters[0].isNamePresent();
+        throw new IllegalArgumentException(
+                "Table column \"" + column + "\" does not refer to any parameter of " + testMethod.getName()
+                        + " - columns have to be named after the method parameters or their indexes (e.g. {0})"
+                        + (namesPresent ? "" : ", while the parameter names are available only when compiled with "
+                        + "-parameters")
+        );
+    }
+
+    /**
+     * Whether the row is a separator or a border, not containing any values.
+     */
+    private static boolean isDecoration(String row) {
+        String stripped = row.strip();
+        if (stripped.startsWith("+")) {
+            return isBorder(stripped);
+        }
+        if (!stripped.contains(DASHES)) {
+            return false;
+        }
+        for (String cell : TableLineMatcher.cells(stripped, '\0')) {
+            if (!isSeparatorCell(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the row is an ASCII table border like {@code +---+===+}. Rows like {@code +5 | 3 | 8} contain values.
+     */
+    private static boolean isBorder(String row) {
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (BORDER_CHARACTERS.indexOf(c) < 0 && !Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSeparatorCell(String cell) {
+        int start = cell.startsWith(":") ? 1 : 0;
+        int end = cell.endsWith(":") && cell.length() > start ? cell.length() - 1 : cell.length();
+        if (end - start < DASHES.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (cell.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.mikemybytes.junit5.formatted;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LineMatcher} slicing rows of a pipe-delimited table (see {@link TableFormats}) into cells with a single scan
+ * for the {@code |} delimiters, without involving any regular expressions.
+ *
+ * <p>The outer borders of the row (the leading and the trailing {@code |}) are optional. Values starting with the
+ * quote character may contain the delimiter, as long as it is enclosed within the quotes.</p>
+ */
+class TableLineMatcher implements LineMatcher {
+
+    private static final char DELIMITER = '|';
+
+    /**
+     * Index of the argument represented by each column.
+     */
+    private final int[] columnArguments;
+    private final char quoteCharacter;
+
+    TableLineMatcher(List<Integer> columnArguments, char quoteCharacter) {
+        this.columnArguments = columnArguments.stream().mapToInt(Integer::intValue).toArray();
+        this.quoteCharacter = quoteCharacter;
+    }
+
+    @Override
+    public boolean match(String line, int[] bounds) {
+        int end = contentEnd(line);
+        int cellStart = contentStart(line, end);
+        for (int column = 0; column < columnArguments.length; column++) {
+            int cellEnd = cellEnd(line, cellStart, end, quoteCharacter);
+            bounds[2 * columnArguments[column]] = cellStart;
+            bounds[2 * columnArguments[column] + 1] = cellEnd;
+            if (cellEnd == end) {
+                return column == columnArguments.length - 1;
+            }
+            cellStart = cellEnd + 1;
+        }
+        return false; // more cells than columns
+    }
+
+    /**
+     * Splits the row into its (stripped) cells.
+     */
+    static List<String> cells(String row, char quoteCharacter) {
+        List<String> cells = new ArrayList<>();
+        int end = contentEnd(row);
+        int cellStart = contentStart(row, end);
+        while (true) {
+            int cellEnd = cellEnd(row, cellStart, end, quoteCharacter);
+            cells.add(row.substring(cellStart, cellEnd).strip());
+            if (cellEnd == end) {
+                return cells;
+            }
+            cellStart = cellEnd + 1;
+        }
+    }
+
+    /**
+     * Returns the end of the row content, excluding the trailing whitespace and the trailing border.
+     */
+    private static int contentEnd(String row) {
+        int end = row.length();
+        while (end > 0 && Character.isWhitespace(row.charAt(end - 1))) {
+            end--;
+        }
+        return end > 0 && row.charAt(end - 1) == DELIMITER ? end - 1 : end;
+    }
+
+    /**
+     * Returns the start of the row content, excluding the leading whitespace and the leading border.
+     */
+    private static int contentStart(String row, int end) {
+        int start = 0;
+        while (start < end && Character.isWhitespace(row.charAt(start))) {
+            start++;
+        }
+        return start < end && row.charAt(start) == DELIMITER ? start + 1 : start;
+    }
+
+    private static int cellEnd(String row, int cellStart, int end, char quoteCharacter) {
+        int position = cellStart;
+        while (position < end && Character.isWhitespace(row.charAt(position))) {
+            position++;
+        }
+        if (position < end && row.charAt(position) == quoteCharacter) {
+            // the delimiter might be a part of the quoted value
+            int closingQuote = row.indexOf(quoteCharacter, position + 1);
+            if (closingQuote >= 0 && closingQuote < end) {
+                position = closingQuote + 1;
+            }
+        }
+        int delimiter = row.indexOf(DELIMITER, position);
+        return delimiter >= 0 && delimiter < end ? delimiter : end;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Wall-clock time budget of a single data set (test method). Once the budget gets exceeded, all the remaining test
+ * cases are being reported as skipped by the {@link TimeBudgetExecutionCondition} instead of being executed.
+ *
+ * <p>The budget is shared with the condition via the {@link ExtensionContext.Store} of the test method. JUnit executes
+ * each test case right after taking its arguments from the stream, so the n-th emitted arguments always correspond to
+ * the n-th invocation of the test method.</p>
+ */
+final class TimeBudget {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TimeBudget.class);
+    private static final Pattern INVOCATION_INDEX = Pattern.compile("\\[test-template-invocation:#(\\d+)]$");
+
+    private final Duration budget;
+    private final LongSupplier nanoClock;
+    private final long start;
+
+    private long emittedCount;
+    private volatile long firstSkippedInvocation = Long.MAX_VALUE;
+
+    TimeBudget(Duration budget, LongSupplier nanoClock) {
+        this.budget = budget;
+        this.nanoClock = nanoClock;
+        this.start = nanoClock.getAsLong();
+    }
+
+    /**
+     * Applies the budget to the arguments stream of the given test method.
+     *
+     * @param context   extension context of the test method
+     * @param budget    time budget of the whole data set
+     * @param arguments test arguments
+     */
+    static Stream<Arguments> apply(ExtensionContext context, Duration budget, Stream<Arguments> arguments) {
+        var timeBudget = new TimeBudget(budget, System::nanoTime);
+        context.getStore(NAMESPACE).put(TimeBudget.class, timeBudget);
+        return arguments.peek(ignored -> timeBudget.onArgumentsEmitted());
+    }
+
+    /**
+     * Returns the reason of skipping the test method invocation represented by the given context, if its data set
+     * ran out of the time budget.
+     */
+    static Optional<String> skipReason(ExtensionContext invocationContext) {
+        Optional<Long> invocationIndex = invocationIndex(invocationContext.getUniqueId());
+        if (invocationIndex.isEmpty()) {
+            return Optional.empty();
+        }
+        return invocationContext.getParent()
+                .map(methodContext -> methodContext.getStore(NAMESPACE).get(TimeBudget.class, TimeBudget.class))
+                .filter(timeBudget -> timeBudget.isExceededAt(invocationIndex.get()))
+                .map(timeBudget -> "Time budget of " + timeBudget.budget + " exceeded");
+    }
+
+    /**
+     * Extracts the invocation index (counting from 1) of the parameterized test method out of its unique ID.
+     */
+    static Optional<Long> invocationIndex(String uniqueId) {
+        Matcher matcher = INVOCATION_INDEX.matcher(uniqueId);
+        return matcher.find() ? Optional.of(Long.valueOf(matcher.group(1))) : Optional.empty();
+    }
+
+    void onArgumentsEmitted() {
+        emittedCount++;
+        if (firstSkippedInvocation == Long.MAX_VALUE && nanoClock.getAsLong() - start > budget.toNanos()) {
+            firstSkippedInvocation = emittedCount;
+        }
+    }
+
+    /**
+     * Checks whether the budget had been exceeded before the given invocation (counting from 1) started.
+     */
+    boolean isExceededAt(long invocationIndex) {
+        return invocationIndex >= firstSkippedInvocation;
+    }
+
+}
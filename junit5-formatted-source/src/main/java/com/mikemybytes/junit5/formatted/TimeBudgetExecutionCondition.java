@@ -0,0 +1,25 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * {@link ExecutionCondition} skipping the test cases left after their data set exceeded its {@link TimeBudget}.
+ * Registered by all the FormattedSource annotations. Conditions are evaluated before resolving the test method
+ * parameters, so the skipped test cases are reported with their regular display names.
+ */
+class TimeBudgetExecutionCondition implements ExecutionCondition {
+
+    private static final ConditionEvaluationResult ENABLED = ConditionEvaluationResult.enabled(
+            "Time budget not exceeded"
+    );
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return TimeBudget.skipReason(context)
+                .map(ConditionEvaluationResult::disabled)
+                .orElse(ENABLED);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mikemybytes.junit5.formatted;
+
+import static com.mikemybytes.junit5.formatted.Preconditions.require;
+
+/**
+ * Bounded table of argument values, deduplicating repetitive values (e.g. enum names or currency codes) of a single
+ * data set. Values are being looked up directly within the input line, so returning an already known value does not
+ * allocate anything.
+ *
+ * <p>The table never grows - once it is full (or the value is longer than {@value #MAX_VALUE_LENGTH} characters), new
+ * values are simply not interned. It is safe to be used concurrently without any locking: {@link String} objects are
+ * immutable, so in the worst case a racing thread does not find a value that has just been added, and creates its
+ * own copy instead.</p>
+ */
+final class ValueInterner {
+
+    /**
+     * Longer values are unlikely to repeat, so they are never interned.
+     */
+    static final int MAX_VALUE_LENGTH = 64;
+
+    private static final int MAX_PROBES = 8;
+
+    private final String[] slots;
+    private final int mask;
+    private final int maxSize;
+    /**
+     * Approximate number of interned values (might be slightly off under concurrent use).
+     */
+    private int size;
+
+    /**
+     * @param maxSize maximum number of interned values
+     */
+    ValueInterner(int maxSize) {
+        require(maxSize > 0, () -> "Interning table size must be positive but was " + maxSize);
+        // at most half of the slots are used, keeping the probe sequences short
+        int capacity = Integer.highestOneBit(Math.min(maxSize, 1 << 29) * 2 - 1) << 1;
+        this.slots = new String[capacity];
+        this.mask = capacity - 1;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the value represented by the given range of the line, reusing an equal value seen before if possible.
+     */
+    String intern(String line, int start, int end) {
+        int length = end - start;
+        if (length > MAX_VALUE_LENGTH) {
+            return line.substring(start, end);
+        }
+
+        int index = hash(line, start, end) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            String candidate = slots[index];
+            if (candidate == null) {
+                String value = line.substring(start, end);
+                if (size < maxSize) {
+                    slots[index] = value;
+                    size++;
+                }
+                return value;
+            }
+            if (candidate.length() == length && line.startsWith(candidate, start)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+        return line.substring(start, end);
+    }
+
+    private static int hash(String line, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + line.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    int size() {
+        return size;
+    }
+
+}
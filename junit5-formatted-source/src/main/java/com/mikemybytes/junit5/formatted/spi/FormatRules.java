@@ -0,0 +1,93 @@
+package com.mikemybytes.junit5.formatted.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Format analysis rules shared by the runtime and the {@code junit5-formatted-source-processor} annotation processor,
+ * so both always agree on the supported argument types and the ambiguous formats. Types are identified by their names
+ * used within the format string (e.g. {@code int} for {@code {0:int}}), while untyped placeholders are represented by
+ * {@link #UNTYPED}.
+ */
+public final class FormatRules {
+
+    /**
+     * Type name of the untyped placeholders.
+     */
+    public static final String UNTYPED = "";
+    public static final String INT = "int";
+    public static final String LONG = "long";
+    public static final String DOUBLE = "double";
+    public static final String DECIMAL = "decimal";
+    public static final String BOOLEAN = "boolean";
+    public static final String WORD = "word";
+
+    private static final List<String> TYPE_NAMES = List.of(INT, LONG, DOUBLE, DECIMAL, BOOLEAN, WORD);
+    private static final List<String> NUMERIC_TYPE_NAMES = List.of(INT, LONG, DOUBLE, DECIMAL);
+
+    private FormatRules() {
+        // static only
+    }
+
+    /**
+     * @return Names of all the supported argument types, in the order of their declaration.
+     */
+    public static List<String> typeNames() {
+        return TYPE_NAMES;
+    }
+
+    /**
+     * Tells whether the boundary between the value of the given type and the value of the directly following
+     * (adjacent) placeholder is ambiguous - the first value might take over the beginning of the next one.
+     *
+     * @param type     Type name of the first placeholder.
+     * @param nextType Type name of the directly following placeholder.
+     * @return {@code true} if the boundary between both values depends on the values themselves.
+     */
+    public static boolean isAmbiguousBefore(String type, String nextType) {
+        switch (type) {
+            case UNTYPED:
+                return true;
+            case WORD:
+                return !UNTYPED.equals(nextType);
+            case BOOLEAN:
+                return false;
+            default:
+                return NUMERIC_TYPE_NAMES.contains(nextType);
+        }
+    }
+
+    /**
+     * Describes the format parts, where the boundaries between argument values depend on the values themselves:
+     * adjacent placeholders (see {@link #isAmbiguousBefore}) and untyped placeholders separated only by whitespace.
+     *
+     * @param literals       Literal parts of the format (one more than the number of placeholders).
+     * @param argumentsOrder Argument indexes of the placeholders, in the order of their appearance.
+     * @param typeNames      Type names of the placeholders, in the order of their appearance.
+     * @return Descriptions of the ambiguities (empty when there are none).
+     */
+    public static List<String> findAmbiguities(
+            List<String> literals,
+            List<Integer> argumentsOrder,
+            List<String> typeNames) {
+        List<String> ambiguities = new ArrayList<>();
+        for (int i = 1; i < argumentsOrder.size(); i++) {
+            int previous = argumentsOrder.get(i - 1);
+            int current = argumentsOrder.get(i);
+            String previousType = typeNames.get(i - 1);
+            String currentType = typeNames.get(i);
+            String literal = literals.get(i);
+            if (literal.isEmpty() && isAmbiguousBefore(previousType, currentType)) {
+                ambiguities.add("placeholders of arguments " + previous + " and " + current + " are adjacent, "
+                        + "so the value of argument " + current + " is always "
+                        + (UNTYPED.equals(currentType) ? "empty" : "as short as possible"));
+            } else if (!literal.isEmpty() && literal.isBlank()
+                    && UNTYPED.equals(previousType) && UNTYPED.equals(currentType)) {
+                ambiguities.add("placeholders of arguments " + previous + " and " + current + " are separated only "
+                        + "by whitespace, so whitespace within their values makes the boundaries ambiguous");
+            }
+        }
+        return ambiguities;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.mikemybytes.junit5.formatted.spi;
+
+import java.util.List;
+
+/**
+ * Format string analyzed at compile time, along with the code matching input lines against it. Implementations are
+ * being generated by the {@code junit5-formatted-source-processor} annotation processor and should not be created
+ * manually.
+ *
+ * <p>When available, precompiled formats replace the format analysis performed while running the tests.</p>
+ */
+public interface PrecompiledFormat {
+
+    /**
+     * @return Format string, as defined in the annotation.
+     */
+    String format();
+
+    /**
+     * @return Fixed argument placeholder string or an empty string for the default (indexed) placeholders.
+     */
+    String argumentPlaceholder();
+
+    /**
+     * @return Literal parts of the format string (text surrounding the argument placeholders). Always contains one
+     * element more than the number of placeholders.
+     */
+    List<String> literals();
+
+    /**
+     * @return The order of arguments, represented as the order of their indexes.
+     */
+    List<Integer> argumentsOrder();
+
+    /**
+     * Matches the given input line against the format. For the argument with index {@code i} (starting from zero),
+     * {@code bounds[2 * i]} gets its value start index (inclusive) and {@code bounds[2 * i + 1]} the end index
+     * (exclusive). Lines containing line terminator characters are never passed to this method.
+     *
+     * @param line   Test case input line.
+     * @param bounds Array of at least {@code 2 * argumentsOrder().size()} elements to be filled with value boundaries.
+     * @return {@code true} if the line matches the format, {@code false} otherwise.
+     */
+    boolean match(String line, int[] bounds);
+
+}
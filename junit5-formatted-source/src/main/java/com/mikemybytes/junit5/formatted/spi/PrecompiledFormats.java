@@ -0,0 +1,22 @@
+package com.mikemybytes.junit5.formatted.spi;
+
+import java.util.List;
+
+/**
+ * All the {@link PrecompiledFormat} objects generated for a single test class. Implementations are being generated
+ * by the {@code junit5-formatted-source-processor} annotation processor, next to the test class. Their names consist
+ * of the test class name (nested class names separated with {@code _}) followed by {@link #CLASS_NAME_SUFFIX}.
+ */
+public interface PrecompiledFormats {
+
+    /**
+     * Suffix of the generated implementation class name.
+     */
+    String CLASS_NAME_SUFFIX = "_FormattedSourceFormats";
+
+    /**
+     * @return All the formats used by the related test class.
+     */
+    List<PrecompiledFormat> formats();
+
+}
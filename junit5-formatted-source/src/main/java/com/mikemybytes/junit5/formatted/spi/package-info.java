@@ -0,0 +1,4 @@
+/**
+ * Service provider interface implemented by the code generated at compile time. Not intended for direct usage.
+ */
+package com.mikemybytes.junit5.formatted.spi;
@@ -6,8 +6,11 @@ module com.mikemybytes.junit5.formatted {
 
     requires transitive org.junit.jupiter.api;
     requires transitive org.junit.jupiter.params;
+    // Flight Recorder events are emitted only when the module is available
+    requires static jdk.jfr;
 
     exports com.mikemybytes.junit5.formatted;
+    exports com.mikemybytes.junit5.formatted.spi;
 
     // reflective access required while executing tests
     opens com.mikemybytes.junit5.formatted to org.junit.platform.commons;
@@ -0,0 +1,121 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlternativeFormatsTest {
+
+    private final IndexedArgumentPlaceholdersFormatAnalyzer analyzer = new IndexedArgumentPlaceholdersFormatAnalyzer();
+
+    @Test
+    void returnsMainSpecificationWithoutAlternatives() {
+        // when
+        FormatSpecification specification = AlternativeFormats.analyze(analyzer, "{0} = {1}", List.of(), 2);
+        // then
+        assertTrue(specification.getAlternatives().isEmpty());
+        assertTrue(specification.getLineMatcher() instanceof LiteralDelimitedLineMatcher);
+    }
+
+    @Test
+    void matchesFirstCompatibleFormat() {
+        // given
+        FormatSpecification specification = AlternativeFormats.analyze(
+                analyzer, "{0} + {1} = {2}", List.of("{0} = {2}", "{2} <- {0}"), 3
+        );
+        int[] bounds = new int[6];
+        // when & then
+        assertTrue(specification.getLineMatcher().match("1 + 2 = 3", bounds));
+        assertArrayEquals(new int[]{0, 1, 4, 5, 8, 9}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("a + b = c = d", bounds));
+        assertArrayEquals(new int[]{0, 1, 4, 9, 12, 13}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("5 = 5", bounds));
+        assertArrayEquals(new int[]{0, 1, -1, -1, 4, 5}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("x <- y", bounds));
+        assertArrayEquals(new int[]{5, 6, -1, -1, 0, 1}, bounds);
+
+        assertFalse(specification.getLineMatcher().match("nothing", bounds));
+    }
+
+    @Test
+    void triesOnlyFormatsWithMatchingLeadingLiterals() {
+        // given
+        FormatSpecification specification = AlternativeFormats.analyze(
+                analyzer, "add {0} to {1}", List.of("remove {0} from {1}", "{0}", "remove all from {1}"), 2
+        );
+        int[] bounds = new int[4];
+        // when & then
+        assertTrue(specification.getLineMatcher().match("remove 1 from 2", bounds));
+        assertArrayEquals(new int[]{7, 8, 14, 15}, bounds);
+
+        // formats declared earlier take precedence over the more specific "remove all from {1}"
+        assertTrue(specification.getLineMatcher().match("remove all from x", bounds));
+        assertArrayEquals(new int[]{7, 10, 16, 17}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("reset", bounds));
+        assertArrayEquals(new int[]{0, 5, -1, -1}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("add 1 to 2", bounds));
+        assertArrayEquals(new int[]{4, 5, 9, 10}, bounds);
+
+        assertTrue(specification.getLineMatcher().match("", bounds));
+        assertArrayEquals(new int[]{0, 0, -1, -1}, bounds);
+    }
+
+    @Test
+    void extractsNullValuesOfOmittedArguments() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0:int} + {1:int} = {2:int}")
+                .alternativeFormats("{0:int} = {2:int}")
+                .build();
+        // when
+        Object[] values = parser.parseValues("5 = 5");
+        // then
+        assertArrayEquals(new Object[]{5, null, 5}, values);
+    }
+
+    @Test
+    void rejectsInvalidAlternatives() {
+        var outOfRange = assertThrows(
+                IllegalArgumentException.class,
+                () -> AlternativeFormats.analyze(analyzer, "{0} = {1}", List.of("{2}"), 3)
+        );
+        assertEquals(
+                "Alternative format \"{2}\" refers to argument 2, while the main format defines only 2 arguments",
+                outOfRange.getMessage()
+        );
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AlternativeFormats.analyze(analyzer, "{0} = {1}", List.of("{0} {0}"), 2)
+        );
+
+        var differentType = assertThrows(
+                IllegalArgumentException.class,
+                () -> AlternativeFormats.analyze(analyzer, "{0:int} = {1}", List.of("{0}"), 2)
+        );
+        assertEquals(
+                "Argument 0 has to be of the same type in all the formats, but it is int in the main format "
+                        + "and untyped in the alternative format \"{0}\"",
+                differentType.getMessage()
+        );
+    }
+
+    @Test
+    void reportsAmbiguitiesOfAlternatives() {
+        // when
+        FormatSpecification specification = AlternativeFormats.analyze(analyzer, "{0} = {1}", List.of("{1}{0}"), 2);
+        // then
+        assertEquals(
+                List.of("in the alternative format \"{1}{0}\", placeholders of arguments 1 and 0 are adjacent, "
+                        + "so the value of argument 0 is always empty"),
+                specification.getAmbiguities()
+        );
+    }
+
+}
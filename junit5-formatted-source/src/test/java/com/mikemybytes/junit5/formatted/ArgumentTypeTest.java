@@ -0,0 +1,96 @@
+package com.mikemybytes.junit5.formatted;
+
+import com.mikemybytes.junit5.formatted.spi.FormatRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentTypeTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // type    | next literal | last  | possessive
+            "INT       | ' + '        | false | true",
+            "INT       | -            | false | false",
+            "INT       | ''           | true  | true",
+            "INT       | ''           | false | false",
+            "DECIMAL   | e            | false | false",
+            "DECIMAL   | ' x'         | false | true",
+            "WORD      | ', '         | false | false",
+            "WORD      | ' = '        | false | true",
+    })
+    void usesPossessiveQuantifiersOnlyWhenUnambiguous(
+            ArgumentType type,
+            String nextLiteral,
+            boolean last,
+            boolean possessive) {
+        String regex = type.regexFollowedBy(nextLiteral, last);
+        assertEquals(possessive, regex.contains("++"), regex);
+    }
+
+    @Test
+    void matchesLikeGreedyRegex() {
+        // given
+        String[] formats = {"{0:int}-{1}", "{0:int}{1:int}", "{0:decimal}e{1:word}", "{0:word},{1:long}", "{0} {1:word}"};
+        var random = new Random(42);
+        var analyzer = new IndexedArgumentPlaceholdersFormatAnalyzer();
+        for (String format : formats) {
+            FormatSpecification specification = analyzer.analyze(format, 2);
+            Pattern greedy = Pattern.compile(specification.getPattern().pattern()
+                    .replace("++", "+")
+                    .replace("?+", "?")
+                    .replace("*+", "*"));
+            for (int i = 0; i < 2_000; i++) {
+                // when
+                String line = randomLine(random);
+                Matcher expected = greedy.matcher(line);
+                Matcher actual = specification.getPattern().matcher(line);
+                // then
+                assertEquals(expected.matches(), actual.matches(), () -> format + " for '" + line + "'");
+                if (expected.matches()) {
+                    assertEquals(expected.group(1), actual.group(1));
+                    assertEquals(expected.group(2), actual.group(2));
+                }
+            }
+        }
+    }
+
+    @Test
+    void parsesValuesDirectly() {
+        String line = "[-12|9000000000|2.5|1.50|TRUE|abc]";
+        assertEquals(-12, ArgumentType.INT.parse(line, 1, 4));
+        assertEquals(9_000_000_000L, ArgumentType.LONG.parse(line, 5, 15));
+        assertEquals(2.5, ArgumentType.DOUBLE.parse(line, 16, 19));
+        assertEquals(new BigDecimal("1.50"), ArgumentType.DECIMAL.parse(line, 20, 24));
+        assertEquals(true, ArgumentType.BOOLEAN.parse(line, 25, 29));
+        assertEquals("abc", ArgumentType.WORD.parse(line, 30, 33));
+    }
+
+    @Test
+    void rejectsUnsupportedTypeNames() {
+        assertEquals(ArgumentType.INT, ArgumentType.fromName("int"));
+        assertThrows(IllegalArgumentException.class, () -> ArgumentType.fromName(""));
+        assertThrows(IllegalArgumentException.class, () -> ArgumentType.fromName("Integer"));
+        assertEquals(List.of("int", "long", "double", "decimal", "boolean", "word"),
+                List.of(ArgumentType.names(",").split(",")));
+        assertEquals(FormatRules.typeNames(), List.of(ArgumentType.names(",").split(",")));
+    }
+
+    private static String randomLine(Random random) {
+        var line = new StringBuilder();
+        int length = random.nextInt(10);
+        for (int i = 0; i < length; i++) {
+            line.append("1-2e,a. ".charAt(random.nextInt(8)));
+        }
+        return line.toString();
+    }
+
+}
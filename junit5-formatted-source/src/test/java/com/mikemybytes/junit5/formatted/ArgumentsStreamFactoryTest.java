@@ -0,0 +1,177 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.provider.Arguments;
+import org.opentest4j.TestAbortedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentsStreamFactoryTest {
+
+    private static final String FORMAT = "{0} + {1} = {2}";
+
+    private final List<String> lines = IntStream.range(0, 20_000)
+            .mapToObj(i -> i + " + " + i + " = " + (2 * i))
+            .collect(Collectors.toList());
+
+    @Test
+    void parsesLinesLazilyByDefault() {
+        // given
+        var configuration = configuration(Map.of());
+        // when
+        List<List<Object>> arguments = toValues(
+                ArgumentsStreamFactory.create(lines::stream, extractor(), configuration)
+        );
+        // then
+        assertEquals(expectedValues(), arguments);
+    }
+
+    @Test
+    void preservesOrderWhenParsingInParallel() {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.PARALLEL_PARSING_ENABLED, "true"));
+        String textBlock = String.join("\n", lines);
+        // when
+        List<List<Object>> fromArray = toValues(
+                ArgumentsStreamFactory.create(lines::stream, extractor(), configuration)
+        );
+        List<List<Object>> fromTextBlock = toValues(
+                ArgumentsStreamFactory.create(textBlock::lines, extractor(), configuration)
+        );
+        // then
+        assertEquals(expectedValues(), fromArray);
+        assertEquals(expectedValues(), fromTextBlock);
+    }
+
+    @Test
+    void closesInputLinesWhenParsingInParallel() {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.PARALLEL_PARSING_ENABLED, "true"));
+        var closed = new AtomicBoolean();
+        Stream<String> input = lines.stream().onClose(() -> closed.set(true));
+        // when
+        ArgumentsStreamFactory.create(() -> input, extractor(), configuration);
+        // then
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void internsRepetitiveValuesWhenEnabled() {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.INTERNING_ENABLED, "true"));
+        // when
+        List<Object[]> arguments = ArgumentsStreamFactory.create(lines::stream, extractor(), configuration)
+                .map(Arguments::get)
+                .collect(Collectors.toList());
+        // then
+        assertEquals(expectedValues(), arguments.stream().map(List::of).collect(Collectors.toList()));
+        assertSame(arguments.get(0)[0], arguments.get(0)[2]); // "0 + 0 = 0"
+        assertSame(arguments.get(1)[2], arguments.get(2)[0]); // "2" repeated in consecutive lines
+    }
+
+    @Test
+    void emitsOnlyLinesOfTheConfiguredShard() {
+        // given
+        var configuration = configuration(Map.of(
+                FormattedSourceConfiguration.SHARD_INDEX, "1",
+                FormattedSourceConfiguration.SHARD_COUNT, "3"
+        ));
+        var shard = new Shard(1, 3);
+        // when
+        List<List<Object>> arguments = toValues(
+                ArgumentsStreamFactory.create(lines::stream, extractor(), configuration)
+        );
+        // then
+        List<List<Object>> expected = toValues(
+                lines.stream().filter(shard::contains).map(extractor()::extract)
+        );
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, arguments);
+    }
+
+    @Test
+    void abortsWhenTheShardHasNoLines() {
+        // given
+        var configuration = configuration(Map.of(
+                FormattedSourceConfiguration.SHARD_INDEX, "0",
+                FormattedSourceConfiguration.SHARD_COUNT, "3"
+        ));
+        List<String> fewerLines = List.of("1 + 1 = 2");
+        assertFalse(new Shard(0, 3).contains(fewerLines.get(0)));
+        // when
+        Stream<Arguments> arguments = ArgumentsStreamFactory.create(fewerLines::stream, extractor(), configuration);
+        // then
+        var exception = assertThrows(TestAbortedException.class, () -> toValues(arguments));
+        assertEquals("No test cases selected by the shard 0 of 3", exception.getMessage());
+    }
+
+    @Test
+    void requiresBothShardIndexAndCount() {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.SHARD_INDEX, "1"));
+        // when & then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ArgumentsStreamFactory.create(lines::stream, extractor(), configuration)
+        );
+    }
+
+    @Test
+    void groupsRowsIntoBatchesLazily() {
+        // given
+        var extractor = new ArgumentsExtractor(
+                new FormattedSourceData(FORMAT, new String[0], "", '\'', "", true, Set.of(), "", 7_000),
+                new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(FORMAT, 3),
+                RawArgumentsProcessor.formattedRow()
+        );
+        var closed = new AtomicBoolean();
+        Stream<Arguments> rows = lines.stream().map(extractor::extract).onClose(() -> closed.set(true));
+        // when
+        List<FormattedRows> batches;
+        try (Stream<Arguments> stream = ArgumentsStreamFactory.batch(rows, 7_000)) {
+            batches = stream
+                    .map(arguments -> ((Named<?>) arguments.get()[0]).getPayload())
+                    .map(FormattedRows.class::cast)
+                    .collect(Collectors.toList());
+        }
+        // then
+        assertEquals(List.of(7_000, 7_000, 6_000), batches.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(lines.get(7_000), batches.get(1).get(0).getLine());
+        assertEquals(expectedValues(), batches.stream()
+                .flatMap(List::stream)
+                .map(row -> List.<Object>of(row.get(0), row.get(1), row.get(2)))
+                .collect(Collectors.toList()));
+        assertTrue(closed.get());
+    }
+
+    private static ArgumentsExtractor extractor() {
+        var sourceData = new FormattedSourceData(FORMAT, new String[0], "", '\'', "", true, Set.of(), "");
+        FormatSpecification specification = new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(FORMAT, 3);
+        return new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+    }
+
+    private static FormattedSourceConfiguration configuration(Map<String, String> parameters) {
+        return new FormattedSourceConfiguration(key -> Optional.ofNullable(parameters.get(key)));
+    }
+
+    private List<List<Object>> expectedValues() {
+        return IntStream.range(0, lines.size())
+                .mapToObj(i -> List.<Object>of(String.valueOf(i), String.valueOf(i), String.valueOf(2 * i)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<List<Object>> toValues(Stream<Arguments> arguments) {
+        return arguments.map(a -> List.of(a.get())).collect(Collectors.toList());
+    }
+
+}
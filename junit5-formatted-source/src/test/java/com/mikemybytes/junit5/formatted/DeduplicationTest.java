@@ -0,0 +1,71 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeduplicationTest {
+
+    private static final String FORMAT = "{0} -> {1}";
+
+    @Test
+    void dropsTestCasesWithTheSameNormalizedValues() {
+        // given
+        var extractor = extractor();
+        var deduplication = new Deduplication();
+        Stream<Arguments> arguments = Stream.of("a -> b", "  a ->   'b'", "a -> c", "'' -> null", "'' -> 'null'", "a -> b")
+                .map(extractor::extract);
+        // when
+        List<List<Object>> unique = deduplication.apply(arguments)
+                .map(a -> Arrays.asList(a.get()))
+                .collect(Collectors.toList());
+        // then
+        assertEquals(List.of(List.of("a", "b"), List.of("a", "c"), Arrays.asList("EMPTY", null)), unique);
+        assertEquals(3, deduplication.getDroppedCount());
+        assertEquals(List.of("[a, b]", "[EMPTY, null]", "[a, b]"), deduplication.getDropped());
+    }
+
+    @Test
+    void distinguishesConvertedValuesWithTheSameHashCode() {
+        // "Aa" and "BB" have the same String::hashCode
+        assertNotEquals(
+                Deduplication.fingerprint(new Object[]{new StringBuilder("Aa")}),
+                Deduplication.fingerprint(new Object[]{new StringBuilder("BB")})
+        );
+    }
+
+    @Test
+    void distinguishesValuesShiftedBetweenArguments() {
+        assertNotEquals(
+                Deduplication.fingerprint(new Object[]{"ab", "c"}),
+                Deduplication.fingerprint(new Object[]{"a", "bc"})
+        );
+        assertNotEquals(
+                Deduplication.fingerprint(new Object[]{null, "a"}),
+                Deduplication.fingerprint(new Object[]{"a", null})
+        );
+    }
+
+    @Test
+    void comparesNamedArgumentsByTheirPayload() {
+        assertEquals(
+                Deduplication.fingerprint(new Object[]{Named.of("first line", "a"), "b"}),
+                Deduplication.fingerprint(new Object[]{Named.of("second line", "a"), "b"})
+        );
+    }
+
+    private static ArgumentsExtractor extractor() {
+        var sourceData = new FormattedSourceData(FORMAT, new String[0], "", '\'', "", true, Set.of("null"), "EMPTY");
+        FormatSpecification specification = new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(FORMAT, 2);
+        return new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+    }
+
+}
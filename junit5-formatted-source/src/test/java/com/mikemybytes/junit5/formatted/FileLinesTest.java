@@ -0,0 +1,97 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLinesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsPlainFile() throws IOException {
+        // given
+        Path file = tempDir.resolve("input.txt");
+        Files.writeString(file, "a + b = c\r\nd + e = f\n");
+        // when
+        List<String> lines = readAll(file);
+        // then
+        assertEquals(List.of("a + b = c", "d + e = f"), lines);
+    }
+
+    @Test
+    void decompressesGzipFileOnTheFly() throws IOException {
+        // given
+        List<String> expected = IntStream.range(0, 10_000)
+                .mapToObj(i -> i + " + " + i + " = " + (2 * i))
+                .collect(Collectors.toList());
+        Path file = tempDir.resolve("input.txt" + FileLines.GZIP_EXTENSION);
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)))) {
+            writer.write(String.join("\n", expected));
+        }
+        // when
+        List<String> lines = readAll(file);
+        // then
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    void concatenatesInputsLazily() {
+        // given
+        List<String> events = new ArrayList<>();
+        List<Supplier<Stream<String>>> inputs = List.of(
+                () -> input("first", events, "a", "b"),
+                () -> input("second", events, "c")
+        );
+        // when
+        try (Stream<String> lines = FileLines.concat(inputs)) {
+            Iterator<String> iterator = lines.iterator();
+            events.add(iterator.next());
+            events.add(iterator.next());
+            events.add(iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+        // then
+        assertEquals(
+                List.of("open first", "a", "b", "close first", "open second", "c", "close second"),
+                events
+        );
+    }
+
+    @Test
+    void failsOnMissingResource() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FileLines.ofResource(FileLinesTest.class, "missing.txt", StandardCharsets.UTF_8)
+        );
+    }
+
+    private static Stream<String> input(String name, List<String> events, String... lines) {
+        events.add("open " + name);
+        return Stream.of(lines).onClose(() -> events.add("close " + name));
+    }
+
+    private static List<String> readAll(Path file) {
+        try (var lines = FileLines.ofFile(file, StandardCharsets.UTF_8)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.mikemybytes.junit5.formatted;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    private static final String FORMAT = "{0} -> {1}";
+    private static final List<String> LINES = List.of("a -> b", "abc -> def");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsLinePatternCompilation() throws IOException {
+        // when
+        List<RecordedEvent> events = record(LinePatternCompilationEvent.NAME, () -> {
+            LinePatternFactory.create(List.of("", " -> ", ""), List.of(0, 1));
+        });
+        // then
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getInt("argumentCount"));
+        assertEquals(
+                LinePatternFactory.create(List.of("", " -> ", ""), List.of(0, 1)).pattern(),
+                events.get(0).getString("pattern")
+        );
+    }
+
+    @Test
+    void recordsAggregatedArgumentsExtraction() throws IOException {
+        // when
+        List<RecordedEvent> events = record(ArgumentsExtractionEvent.NAME, () -> {
+            ArgumentsExtractor extractor = extractor();
+            Supplier<Stream<Arguments>> arguments = () -> LINES.stream().map(extractor::extract);
+            try (var stream = ArgumentsExtractionEvent.record("SampleTest#test", FORMAT, extractor, arguments)) {
+                assertEquals(2, stream.collect(Collectors.toList()).size());
+            }
+        });
+        // then
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("SampleTest#test", event.getString("testMethod"));
+        assertEquals(FORMAT, event.getString("format"));
+        assertEquals(2, event.getLong("lineCount"));
+        assertEquals(16, event.getLong("inputCharacters"));
+        assertTrue(event.getLong("extractionTime") > 0);
+    }
+
+    @Test
+    void doesNotCollectStatisticsWhenDisabled() {
+        // given
+        ArgumentsExtractor extractor = extractor();
+        // when
+        try (Stream<Arguments> stream = ArgumentsExtractionEvent.record(
+                "SampleTest#test", FORMAT, extractor, () -> LINES.stream().map(extractor::extract))) {
+            stream.forEach(arguments -> { });
+        }
+        // then
+        assertEquals(0, extractor.recordStatistics().getLineCount());
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = tempDir.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+
+    private static ArgumentsExtractor extractor() {
+        var sourceData = new FormattedSourceData(FORMAT, new String[0], "", '\'', "", true, Set.of(), "");
+        FormatSpecification specification = new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(FORMAT, 2);
+        return new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatSpecificationCacheTest {
+
+    private final FormatSpecificationCache cache = new FormatSpecificationCache(2);
+
+    @Test
+    void reusesSpecificationForTheSameFormat() {
+        // when
+        FormatSpecification first = cache.get("{0} + {1} = {2}", Optional.empty(), 3);
+        FormatSpecification second = cache.get("{0} + {1} = {2}", Optional.empty(), 3);
+        // then
+        assertSame(first, second);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void distinguishesPlaceholderModeAndParameterCount() {
+        // when
+        FormatSpecification indexed = cache.get("? {0}", Optional.empty(), 1);
+        FormatSpecification positional = cache.get("? {0}", Optional.of("?"), 1);
+        FormatSpecification moreParameters = cache.get("? {0}", Optional.empty(), 2);
+        // then
+        assertNotSame(indexed, positional);
+        assertNotSame(indexed, moreParameters);
+        assertEquals(0, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSpecification() {
+        // given
+        FormatSpecification first = cache.get("{0}", Optional.empty(), 1);
+        cache.get("{0} {1}", Optional.empty(), 2);
+        cache.get("{0}", Optional.empty(), 1); // touch the first one
+        // when
+        cache.get("{0} {1} {2}", Optional.empty(), 3);
+        // then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertSame(first, cache.get("{0}", Optional.empty(), 1));
+    }
+
+    @Test
+    void doesNotCacheInvalidFormats() {
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> cache.get("{1}", Optional.empty(), 1));
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.TestAbortedException;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormattedRowsTest {
+
+    private final FormattedRows rows = new FormattedRows(List.of(
+            new FormattedRow("1 + 2 = 3", new Object[]{"1", "2", "3"}),
+            new FormattedRow("2 + 2 = 5", new Object[]{"2", "2", "5"}),
+            new FormattedRow("3 + 3 = 6", new Object[]{"3", "3", "6"})
+    ));
+
+    @Test
+    void parsesTypedValues() {
+        // given
+        var row = new FormattedRow("line", new Object[]{"42", "2.5", "true", "MONDAY", null});
+        // when & then
+        assertEquals(42, row.getInt(0));
+        assertEquals(42L, row.getLong(0));
+        assertEquals(2.5, row.getDouble(1));
+        assertEquals(new BigDecimal("2.5"), row.getBigDecimal(1));
+        assertTrue(row.getBoolean(2));
+        assertEquals(DayOfWeek.MONDAY, row.getEnum(3, DayOfWeek.class));
+        assertNull(row.get(4));
+        assertNull(row.getBigDecimal(4));
+        assertThrows(IllegalArgumentException.class, () -> row.get(5));
+    }
+
+    @Test
+    void reportsFailingLine() {
+        // given
+        List<String> executed = new ArrayList<>();
+        // when
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> rows.forEachRow(row -> {
+            executed.add(row.getLine());
+            assertEquals(row.getInt(2), row.getInt(0) + row.getInt(1));
+        }));
+        // then
+        assertEquals(List.of("1 + 2 = 3", "2 + 2 = 5"), executed);
+        assertTrue(error.getMessage().startsWith("Test case failed: 2 + 2 = 5 ==> "), error.getMessage());
+        assertInstanceOf(AssertionFailedError.class, error.getCause());
+        assertEquals(5, error.getExpected().getValue());
+        assertEquals(4, error.getActual().getValue());
+    }
+
+    @Test
+    void propagatesAbortedTests() {
+        assertThrows(TestAbortedException.class, () -> rows.forEachRow(row -> {
+            throw new TestAbortedException();
+        }));
+    }
+
+    @Test
+    void describesBatch() {
+        assertEquals("1 + 2 = 3 ... 3 + 3 = 6 (3 test cases)", rows.describe());
+        assertEquals("1 + 2 = 3", new FormattedRows(rows.subList(0, 1)).describe());
+    }
+
+}
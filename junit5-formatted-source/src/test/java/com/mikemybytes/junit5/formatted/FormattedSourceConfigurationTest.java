@@ -0,0 +1,84 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormattedSourceConfigurationTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "30,       PT30S",
+            "30 s,     PT30S",
+            "500ms,    PT0.5S",
+            "2 m,      PT2M",
+            "1 H,      PT1H",
+            "1500 us,  PT0.0015S"
+    })
+    void parsesTimeBudget(String value, Duration expected) {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.TIME_BUDGET, value));
+        // when & then
+        assertEquals(Optional.of(expected), configuration.getTimeBudget());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-1 s", "1.5 s", "1 week"})
+    void rejectsInvalidTimeBudget(String value) {
+        // given
+        var configuration = configuration(Map.of(FormattedSourceConfiguration.TIME_BUDGET, value));
+        // when & then
+        assertThrows(IllegalArgumentException.class, configuration::getTimeBudget);
+    }
+
+    @Test
+    void enablesSamplingWithAnyLimit() {
+        assertTrue(configuration(Map.of()).getSampling().isEmpty());
+        assertTrue(configuration(Map.of(FormattedSourceConfiguration.SAMPLING_PERCENTAGE, "2.5"))
+                .getSampling().isPresent());
+        assertTrue(configuration(Map.of(FormattedSourceConfiguration.SAMPLING_MAX_ROWS, "100"))
+                .getSampling().isPresent());
+    }
+
+    @Test
+    void enablesInterningWithDefaultSize() {
+        assertTrue(configuration(Map.of()).getInterningMaxSize().isEmpty());
+        assertEquals(
+                Optional.of(FormattedSourceConfiguration.DEFAULT_INTERNING_MAX_SIZE),
+                configuration(Map.of(FormattedSourceConfiguration.INTERNING_ENABLED, "true")).getInterningMaxSize()
+        );
+        assertEquals(
+                Optional.of(10),
+                configuration(Map.of(
+                        FormattedSourceConfiguration.INTERNING_ENABLED, "true",
+                        FormattedSourceConfiguration.INTERNING_MAX_SIZE, "10"
+                )).getInterningMaxSize()
+        );
+    }
+
+    @Test
+    void limitsMatchStepsOnlyWhenConfigured() {
+        assertTrue(configuration(Map.of()).getMatchBudget().isEmpty());
+        assertEquals(
+                Optional.of(500L),
+                configuration(Map.of(FormattedSourceConfiguration.MATCH_BUDGET, "500")).getMatchBudget()
+        );
+        assertTrue(configuration(Map.of(FormattedSourceConfiguration.MATCH_BUDGET, "0")).getMatchBudget().isEmpty());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> configuration(Map.of(FormattedSourceConfiguration.MATCH_BUDGET, "-1")).getMatchBudget()
+        );
+    }
+
+    private static FormattedSourceConfiguration configuration(Map<String, String> parameters) {
+        return new FormattedSourceConfiguration(key -> Optional.ofNullable(parameters.get(key)));
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormattedSourceParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parsesSingleLine() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{1} <- {0}").build();
+        // when
+        Object[] values = parser.parseValues("a <- 'b'");
+        Arguments arguments = parser.parse("c <- d");
+        // then
+        assertEquals(2, parser.getArgumentCount());
+        assertArrayEquals(new Object[]{"b", "a"}, values);
+        assertArrayEquals(new Object[]{"d", "c"}, arguments.get());
+    }
+
+    @Test
+    void appliesOptions() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("? | ? | ?")
+                .argumentPlaceholder("?")
+                .quoteCharacter('"')
+                .nullValues("N/A")
+                .emptyValue("EMPTY")
+                .ignoreLeadingAndTrailingWhitespace(false)
+                .build();
+        // when
+        Object[] values = parser.parseValues("N/A | \"\" | x ");
+        // then
+        assertArrayEquals(new Object[]{null, "EMPTY", "x "}, values);
+    }
+
+    @Test
+    void parsesTypedValues() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser
+                .builder("{0:word} costs {1:decimal} x {2:int} ({3:boolean})")
+                .nullValues("null")
+                .build();
+        // when
+        Object[] values = parser.parseValues("'tea' costs 2.50 x -3 (true)");
+        Object[] nullWord = parser.parseValues("null costs 0 x 0 (False)");
+        // then
+        assertArrayEquals(new Object[]{"tea", new BigDecimal("2.50"), -3, true}, values);
+        assertArrayEquals(new Object[]{null, BigDecimal.ZERO, 0, false}, nullWord);
+        assertThrows(IllegalArgumentException.class, () -> parser.parseValues("x costs 1 x 1.5 (true)"));
+    }
+
+    @Test
+    void reportsTypedValuesOutOfRange() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0:int}").build();
+        // when
+        var exception = assertThrows(IllegalArgumentException.class, () -> parser.parseValues("2147483648"));
+        // then
+        assertEquals("Invalid int value of argument 0: 2147483648", exception.getMessage());
+    }
+
+    @Test
+    void parsesReaderLazily() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} + {1} = {2}").build();
+        var reader = new StringReader("1 + 2 = 3\n3 + 4 = 7\nnot a sum\n");
+        // when
+        List<List<Object>> values;
+        try (Stream<Object[]> stream = parser.parseValues(reader)) {
+            values = stream.limit(2).map(Arrays::asList).collect(Collectors.toList());
+        }
+        // then
+        assertEquals(List.of(List.of("1", "2", "3"), List.of("3", "4", "7")), values);
+        assertThrows(IOException.class, reader::read); // closed together with the stream
+    }
+
+    @Test
+    void parsesFile() throws IOException {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} -> {1}").build();
+        Path file = Files.writeString(directory.resolve("input.txt"), "a -> b\nc -> d\n");
+        // when
+        List<List<Object>> values;
+        try (Stream<Arguments> stream = parser.parse(file, StandardCharsets.UTF_8)) {
+            values = stream.map(arguments -> Arrays.asList(arguments.get())).collect(Collectors.toList());
+        }
+        // then
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), values);
+    }
+
+    @Test
+    void createsDynamicTestNamedAfterEachLine() throws Throwable {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} -> {1}").build();
+        List<List<Object>> executed = new ArrayList<>();
+        // when
+        List<DynamicTest> tests = parser
+                .dynamicTests(Stream.of("a -> b", "malformed"), values -> executed.add(List.of(values)))
+                .collect(Collectors.toList());
+        // then
+        assertEquals(
+                List.of("a -> b", "malformed"),
+                tests.stream().map(DynamicTest::getDisplayName).collect(Collectors.toList())
+        );
+        assertTrue(executed.isEmpty()); // lines are parsed only when executed
+
+        tests.get(0).getExecutable().execute();
+        assertEquals(List.of(List.of("a", "b")), executed);
+        assertThrows(IllegalArgumentException.class, () -> tests.get(1).getExecutable().execute());
+    }
+
+    @Test
+    void rejectsMissingArgumentsBeforeOpeningTheInput() throws IOException {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} -> {1}").build();
+        var reader = new StringReader("a -> b\n");
+        Path file = directory.resolve("input.txt");
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> parser.dynamicTests(reader, null));
+        assertEquals('a', reader.read()); // not closed
+        assertThrows(IllegalArgumentException.class, () -> parser.dynamicTests(file, StandardCharsets.UTF_8, null));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(null, StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseValues(file, null));
+    }
+
+    @Test
+    void limitsMatchStepsWhenConfigured() {
+        // given
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} {1}:{2:int}").matchBudget(50).build();
+        String line = "a b c d e f g h i j k l";
+        // when
+        var exception = assertThrows(IllegalArgumentException.class, () -> parser.parseValues(line));
+        // then
+        assertTrue(exception.getMessage().startsWith("Matching the line exceeded the budget of 50 steps"));
+        assertEquals(List.of("a", "b", 1), List.of(parser.parseValues("a b:1")));
+    }
+
+    @Test
+    void rejectsInvalidFormatAndLines() {
+        assertThrows(IllegalArgumentException.class, () -> FormattedSourceParser.builder("{0} + {2}").build());
+
+        FormattedSourceParser parser = FormattedSourceParser.builder("{0} + {1}").build();
+        assertThrows(IllegalArgumentException.class, () -> parser.parseValues("1 - 2"));
+    }
+
+}
@@ -77,6 +77,32 @@ class IndexedArgumentPlaceholdersFormatAnalyzerTest {
         assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(format, parameterCount));
     }
 
+    @Test
+    void recognizesArgumentTypes() {
+        // given
+        String format = "{1:decimal} x {0:int} = {2}";
+        // when
+        FormatSpecification specification = analyzer.analyze(format, 3);
+        // then
+        assertEquals(List.of(1, 0, 2), specification.getArgumentsOrder());
+        assertEquals(
+                List.of(ArgumentType.INT, ArgumentType.DECIMAL, ArgumentType.TEXT),
+                specification.getArgumentTypes()
+        );
+        assertTrue(specification.getPattern().matcher("2.5 x 4 = 10.0").matches());
+        assertFalse(specification.getPattern().matcher("2.5 x four = 10.0").matches());
+    }
+
+    @Test
+    void failsOnUnsupportedArgumentType() {
+        // given
+        String format = "{0:float}";
+        // when
+        var exception = assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(format, 1));
+        // then
+        assertTrue(exception.getMessage().startsWith("Unsupported argument type: float"));
+    }
+
     static class ListIntArgumentConverter extends SimpleArgumentConverter {
 
         @Override
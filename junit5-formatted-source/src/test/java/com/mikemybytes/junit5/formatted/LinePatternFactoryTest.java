@@ -0,0 +1,101 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinePatternFactoryTest {
+
+    private final IndexedArgumentPlaceholdersFormatAnalyzer analyzer = new IndexedArgumentPlaceholdersFormatAnalyzer();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // format        | pattern
+            "{0} = {1}       | (?<a0>.*)\\Q = \\E(?<a1>.*+)",
+            "{0}{1}{2}       | (?<a0>.*)(?<a1>)(?<a2>)",
+            "{0}{1} = {2}    | (?<a0>.*)(?<a1>)\\Q = \\E(?<a2>.*+)",
+            "{0:int}{1}{2}   | (?<a0>[+-]?\\d+)(?<a1>.*)(?<a2>)",
+            "[{0}]           | \\Q[\\E(?<a0>.*)\\Q]\\E",
+    })
+    void limitsBacktracking(String format, String expectedPattern) {
+        assertEquals(expectedPattern, analyzer.analyze(format, 3).getPattern().pattern());
+    }
+
+    @Test
+    void matchesLikeGreedyGroups() {
+        // given
+        String[] formats = {"{0}-{1}", "{0}{1}-{2}", "{0}{1}{2}", "-{0}{1}-{2}", "{2}{0}-{1}", "{0}-{1}{2}"};
+        var random = new Random(42);
+        for (String format : formats) {
+            FormatSpecification specification = analyzer.analyze(format, 3);
+            Pattern greedy = greedyPattern(format);
+            for (int i = 0; i < 2_000; i++) {
+                // when
+                String line = randomLine(random);
+                Matcher expected = greedy.matcher(line);
+                Matcher actual = specification.getPattern().matcher(line);
+                // then
+                assertEquals(expected.matches(), actual.matches(), () -> format + " for '" + line + "'");
+                if (expected.matches()) {
+                    for (int argument = 0; argument < specification.getArgumentsOrder().size(); argument++) {
+                        assertEquals(expected.group("a" + argument), actual.group("a" + argument));
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // format           | ambiguities
+            "{0} + {1} = {2}    | 0",
+            "{0}{1} = {2}       | 1",
+            "{0:int}{1}{2:int}  | 1",
+            "{0:int}{1:int}     | 1",
+            "{0:word}{1}        | 0",
+            "{0} {1} {2}        | 2",
+            "{0} {1:int} {2}    | 0",
+    })
+    void findsAmbiguities(String format, int expectedAmbiguities) {
+        List<String> ambiguities = analyzer.analyze(format, 3).getAmbiguities();
+        assertEquals(expectedAmbiguities, ambiguities.size(), ambiguities::toString);
+    }
+
+    @Test
+    void describesAmbiguities() {
+        assertEquals(
+                List.of(
+                        "placeholders of arguments 1 and 0 are adjacent, so the value of argument 0 is always empty",
+                        "placeholders of arguments 0 and 2 are separated only by whitespace, "
+                                + "so whitespace within their values makes the boundaries ambiguous"
+                ),
+                analyzer.analyze("{1}{0} {2}", 3).getAmbiguities()
+        );
+    }
+
+    /**
+     * Reference pattern with every argument matched by the plain greedy {@code .*} group.
+     */
+    private static Pattern greedyPattern(String format) {
+        String regex = Pattern.compile("\\{(\\d)}").matcher(format)
+                .replaceAll(placeholder -> "(?<a" + placeholder.group(1) + ">.*)");
+        return Pattern.compile(regex);
+    }
+
+    private static String randomLine(Random random) {
+        var line = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            line.append("-ab\n".charAt(random.nextInt(4)));
+        }
+        return line.toString();
+    }
+
+}
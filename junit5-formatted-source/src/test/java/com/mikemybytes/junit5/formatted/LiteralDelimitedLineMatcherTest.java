@@ -0,0 +1,98 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiteralDelimitedLineMatcherTest {
+
+    private final IndexedArgumentPlaceholdersFormatAnalyzer analyzer = new IndexedArgumentPlaceholdersFormatAnalyzer();
+
+    @Test
+    void isChosenByDefault() {
+        // when
+        FormatSpecification specification = analyzer.analyze("{0} + {1} = {2}", 3);
+        // then
+        assertInstanceOf(LiteralDelimitedLineMatcher.class, specification.getLineMatcher());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // format              | params | input
+            "{0} + {1} = {2}       |      3 | 1 + 2 = 3",
+            "{0} + {1} = {2}       |      3 | 1 + 2 + 3 = 6 = 6",
+            "{2} -> {0} -> {1}     |      3 | a -> b -> c -> d",
+            "prefix {0} {1} suffix |      2 | prefix A B C suffix suffix",
+            "{0}{1}{2}             |      3 | abc",
+            "[{0}]                 |      1 | [[x]]",
+            "a{0}a{1}a             |      2 | aaaa",
+            "a{0}a{1}a             |      2 | aa",
+            "{0} + {1}             |      2 | 1 - 2",
+            "x {0} y               |      1 | x y",
+            "no arguments          |      0 | no arguments",
+            "no arguments          |      0 | no arguments!"
+    })
+    void givesSameResultsAsRegex(String format, int parameterCount, String input) {
+        assertSameResults(analyzer.analyze(format, parameterCount), input);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a b = c", "a = b\u0085c", "  = "})
+    void givesSameResultsAsRegexForLinesWithLineTerminators(String input) {
+        assertSameResults(analyzer.analyze("{0} = {1}", 2), input);
+    }
+
+    @Test
+    void rejectsLongLinesWithLineTerminatorsWithoutBacktracking() {
+        // given
+        FormatSpecification specification = analyzer.analyze("{0} {1} {2} {3} {4}", 5);
+        String line = "a ".repeat(5_000) + "\n";
+        // when & then
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> assertFalse(specification.getLineMatcher().match(line, new int[10]))
+        );
+    }
+
+    @Test
+    void givesSameResultsAsRegexForRandomInput() {
+        String[] formats = {"{0}-{1}", "{1}--{0}", "-{0}-{1}-", "{0}{1}-{2}", "--{0}-{1}-{2}--"};
+        var random = new Random(42);
+        for (String format : formats) {
+            FormatSpecification specification = analyzer.analyze(format, 3);
+            for (int i = 0; i < 2_000; i++) {
+                assertSameResults(specification, randomLine(random));
+            }
+        }
+    }
+
+    private static String randomLine(Random random) {
+        var line = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            line.append("-ab".charAt(random.nextInt(3)));
+        }
+        return line.toString();
+    }
+
+    private static void assertSameResults(FormatSpecification specification, String input) {
+        var regexLineMatcher = new RegexLineMatcher(specification.getPattern(), specification.getArgumentsOrder());
+        int[] expectedBounds = new int[2 * specification.getArgumentsOrder().size()];
+        int[] actualBounds = new int[expectedBounds.length];
+
+        boolean expectedMatch = regexLineMatcher.match(input, expectedBounds);
+        boolean actualMatch = specification.getLineMatcher().match(input, actualBounds);
+
+        assertEquals(expectedMatch, actualMatch, () -> "Different match results for input '" + input + "'");
+        if (expectedMatch) {
+            assertArrayEquals(expectedBounds, actualBounds, () -> "Different bounds for input '" + input + "'");
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void behavesLikeHashSet() {
+        // given
+        var set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        var random = new Random(42);
+        // when & then
+        for (int i = 0; i < 50_000; i++) {
+            // narrow range, so there are plenty of duplicates
+            long value = random.nextInt(20_000) - 10_000L;
+            assertEquals(expected.add(value), set.add(value), () -> "Unexpected result for " + value);
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    void supportsZeroAndExtremeValues() {
+        // given
+        var set = new LongHashSet();
+        // when & then
+        for (long value : new long[]{0, Long.MIN_VALUE, Long.MAX_VALUE, -1}) {
+            assertTrue(set.add(value));
+            assertFalse(set.add(value));
+        }
+        assertEquals(4, set.size());
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileLineReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "single line",
+            "a\nb\nc",
+            "a\nb\nc\n",
+            "a\r\nb\rc\n\nd",
+            "\n\n",
+            "trailing carriage return\r"
+    })
+    void splitsLinesLikeStringLines(String content) throws IOException {
+        // given
+        Path file = write(content, StandardCharsets.UTF_8);
+        // when
+        List<String> lines = readAll(file, StandardCharsets.UTF_8, MappedFileLineReader.DEFAULT_WINDOW_SIZE);
+        // then
+        assertEquals(content.lines().collect(Collectors.toList()), lines);
+    }
+
+    @Test
+    void readsMultiByteCharactersSpanningMultipleWindows() throws IOException {
+        // given
+        String line = "zażółć gęślą jaźń → 東京 🚀 ";
+        String content = (line + "\n").repeat(100);
+        Path file = write(content, StandardCharsets.UTF_8);
+        // when
+        List<String> lines = readAll(file, StandardCharsets.UTF_8, 17);
+        // then
+        assertEquals(content.lines().collect(Collectors.toList()), lines);
+    }
+
+    @Test
+    void usesProvidedCharset() throws IOException {
+        // given
+        Charset charset = StandardCharsets.UTF_16LE;
+        Path file = write("first\nsecond", charset);
+        // when
+        List<String> lines = readAll(file, charset, 16);
+        // then
+        assertEquals(List.of("first", "second"), lines);
+    }
+
+    @Test
+    void failsOnMalformedInput() throws IOException {
+        // given
+        Path file = tempDir.resolve("malformed.txt");
+        Files.write(file, new byte[]{'a', (byte) 0xC3, '\n'});
+        // when & then
+        assertThrows(
+                MalformedInputException.class,
+                () -> readAll(file, StandardCharsets.UTF_8, MappedFileLineReader.DEFAULT_WINDOW_SIZE)
+        );
+    }
+
+    private Path write(String content, Charset charset) throws IOException {
+        Path file = tempDir.resolve("input.txt");
+        Files.writeString(file, content, charset);
+        return file;
+    }
+
+    private static List<String> readAll(Path file, Charset charset, int windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (var reader = new MappedFileLineReader(file, charset, windowSize)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+}
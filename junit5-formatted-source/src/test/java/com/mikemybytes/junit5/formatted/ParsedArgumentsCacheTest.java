@@ -0,0 +1,147 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedArgumentsCacheTest {
+
+    private static final String FORMAT = "{0} -> {1}";
+    private static final List<String> LINES = List.of("'a' -> b", "null -> ''", "  -> zażółć");
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void storesValuesOnceAllLinesAreConsumed() throws IOException {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        // when
+        List<List<Object>> values = toValues(cache.get(LINES::stream, extractor(Set.of())));
+        // then
+        assertEquals(expectedValues(), values);
+        assertEquals(1, cacheFiles().size());
+    }
+
+    @Test
+    void readsStoredValues() {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        toValues(cache.get(LINES::stream, extractor(Set.of())));
+        // when
+        List<List<Object>> values = toValues(cache.get(LINES::stream, extractor(Set.of())));
+        // then
+        assertEquals(expectedValues(), values);
+    }
+
+    @Test
+    void appliesRawArgumentsProcessorToStoredValues() {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        toValues(cache.get(LINES::stream, extractor(Set.of())));
+        var extractor = new ArgumentsExtractor(
+                sourceData(Set.of()), specification(), RawArgumentsProcessor.testCaseName()
+        );
+        // when
+        List<Arguments> arguments;
+        try (Stream<Arguments> stream = cache.get(LINES::stream, extractor)) {
+            arguments = stream.collect(Collectors.toList());
+        }
+        // then
+        Named<?> first = (Named<?>) arguments.get(0).get()[0];
+        assertEquals("'a' -> b", first.getName());
+        assertEquals("a", first.getPayload());
+    }
+
+    @Test
+    void usesSeparateEntriesForDifferentSettings() throws IOException {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        // when
+        toValues(cache.get(LINES::stream, extractor(Set.of())));
+        List<List<Object>> values = toValues(cache.get(LINES::stream, extractor(Set.of("null"))));
+        // then
+        assertNull(values.get(1).get(0));
+        assertEquals(2, cacheFiles().size());
+    }
+
+    @Test
+    void doesNotStorePartiallyConsumedInput() throws IOException {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        // when
+        try (Stream<Arguments> stream = cache.get(LINES::stream, extractor(Set.of()))) {
+            stream.findFirst();
+        }
+        // then
+        assertEquals(List.of(), cacheFiles());
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count()); // no temporary files left
+        }
+    }
+
+    @Test
+    void restoresTypedValues() {
+        // given
+        var cache = new ParsedArgumentsCache(cacheDirectory);
+        String format = "{0:int} -> {1:decimal}";
+        var extractor = new ArgumentsExtractor(
+                new FormattedSourceData(format, new String[0], "", '\'', "", true, Set.of(), ""),
+                new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(format, 2),
+                RawArgumentsProcessor.passThrough()
+        );
+        List<String> lines = List.of("+1 -> 2.50", "-3 -> 1E+3");
+        List<List<Object>> parsed = toValues(cache.get(lines::stream, extractor));
+        // when
+        List<List<Object>> values = toValues(cache.get(lines::stream, extractor));
+        // then
+        assertEquals(List.of(List.of(1, new BigDecimal("2.50")), List.of(-3, new BigDecimal("1E+3"))), values);
+        assertEquals(parsed, values);
+    }
+
+    private static List<List<Object>> expectedValues() {
+        return List.of(
+                Arrays.asList("a", "b"),
+                Arrays.asList("null", ""),
+                Arrays.asList(null, "zażółć")
+        );
+    }
+
+    private List<Path> cacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".fsc")).collect(Collectors.toList());
+        }
+    }
+
+    private static ArgumentsExtractor extractor(Set<String> nullValues) {
+        return new ArgumentsExtractor(sourceData(nullValues), specification(), RawArgumentsProcessor.passThrough());
+    }
+
+    private static FormattedSourceData sourceData(Set<String> nullValues) {
+        return new FormattedSourceData(FORMAT, new String[0], "", '\'', "", true, nullValues, "");
+    }
+
+    private static FormatSpecification specification() {
+        return new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(FORMAT, 2);
+    }
+
+    private static List<List<Object>> toValues(Stream<Arguments> arguments) {
+        try (arguments) {
+            return arguments.map(a -> Arrays.asList(a.get())).collect(Collectors.toList());
+        }
+    }
+
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PositionalArgumentPlaceholdersFormatAnalyzerTest {
@@ -47,6 +49,32 @@ class PositionalArgumentPlaceholdersFormatAnalyzerTest {
         assertTrue(specification.getPattern().matcher(input).matches());
     }
 
+    @Test
+    void recognizesArgumentTypes() {
+        // given
+        String format = "? has ?:int items (?:word)";
+        // when
+        FormatSpecification specification = analyzer("?").analyze(format, 3);
+        // then
+        assertEquals(
+                List.of(ArgumentType.TEXT, ArgumentType.INT, ArgumentType.WORD),
+                specification.getArgumentTypes()
+        );
+        assertTrue(specification.getPattern().matcher("my cart has 3 items (empty)").matches());
+        assertFalse(specification.getPattern().matcher("my cart has 3 items (not empty)").matches());
+    }
+
+    @Test
+    void treatsOnlyWholeTypeNamesAsArgumentTypes() {
+        // given
+        String format = "?:integer";
+        // when
+        FormatSpecification specification = analyzer("?").analyze(format, 1);
+        // then
+        assertEquals(List.of(ArgumentType.TEXT), specification.getArgumentTypes());
+        assertTrue(specification.getPattern().matcher("value:integer").matches());
+    }
+
     private PositionalArgumentPlaceholdersFormatAnalyzer analyzer(String argumentPlaceholder) {
         return new PositionalArgumentPlaceholdersFormatAnalyzer(argumentPlaceholder);
     }
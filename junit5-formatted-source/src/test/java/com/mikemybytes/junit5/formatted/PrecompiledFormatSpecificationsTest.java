@@ -0,0 +1,127 @@
+package com.mikemybytes.junit5.formatted;
+
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormat;
+import com.mikemybytes.junit5.formatted.spi.PrecompiledFormats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompiledFormatSpecificationsTest {
+
+    @Test
+    void resolvesGeneratedClassName() {
+        assertEquals(
+                "com.mikemybytes.junit5.formatted.PrecompiledFormatSpecificationsTest_Sample_FormattedSourceFormats",
+                PrecompiledFormatSpecifications.generatedClassName(Sample.class)
+        );
+    }
+
+    @Test
+    void findsPrecompiledSpecification() {
+        // when
+        Optional<FormatSpecification> specification = PrecompiledFormatSpecifications.find(
+                Sample.class, sourceData("{1} = {0}", ""), 2
+        );
+        // then
+        assertTrue(specification.isPresent());
+        assertEquals(List.of(1, 0), specification.get().getArgumentsOrder());
+        assertEquals(
+                FormatAnalyzers.from(Optional.empty()).analyze("{1} = {0}", 2).getPattern().pattern(),
+                specification.get().getPattern().pattern()
+        );
+
+        int[] bounds = new int[4];
+        assertTrue(specification.get().getLineMatcher().match("a = b = c", bounds));
+        assertArrayEquals(new int[]{8, 9, 0, 5}, bounds);
+        // lines with line terminators are matched with regex
+        assertFalse(specification.get().getLineMatcher().match("a = b\nc", bounds));
+    }
+
+    @Test
+    void ignoresSpecificationRequiringMoreParameters() {
+        // when
+        Optional<FormatSpecification> specification = PrecompiledFormatSpecifications.find(
+                Sample.class, sourceData("{1} = {0}", ""), 1
+        );
+        // then
+        assertTrue(specification.isEmpty());
+    }
+
+    @Test
+    void ignoresUnknownFormatsAndClassesWithoutPrecompiledFormats() {
+        assertTrue(PrecompiledFormatSpecifications.find(Sample.class, sourceData("{0} = {1}", ""), 2).isEmpty());
+        assertTrue(PrecompiledFormatSpecifications.find(Sample.class, sourceData("{1} = {0}", "?"), 2).isEmpty());
+        assertTrue(PrecompiledFormatSpecifications.find(getClass(), sourceData("{1} = {0}", ""), 2).isEmpty());
+    }
+
+    @Test
+    void ignoresSpecificationForOtherAnalysisAttributes() {
+        // given
+        var withAlternatives = new FormattedSourceData(
+                "{1} = {0}", new String[0], "", '\'', "", true, Set.of(), "", 0, List.of("{0}"), false
+        );
+        var table = new FormattedSourceData(
+                "{1} = {0}", new String[0], "", '\'', "", true, Set.of(), "", 0, List.of(), true
+        );
+        // when & then
+        assertTrue(PrecompiledFormatSpecifications.find(Sample.class, withAlternatives, 2).isEmpty());
+        assertTrue(PrecompiledFormatSpecifications.find(Sample.class, table, 2).isEmpty());
+    }
+
+    private static FormattedSourceData sourceData(String format, String argumentPlaceholder) {
+        return new FormattedSourceData(format, new String[0], "", '\'', argumentPlaceholder, true, Set.of(), "");
+    }
+
+    static class Sample {
+    }
+
+}
+
+/**
+ * Hand-written equivalent of the code generated by the annotation processor for {@code {1} = {0}} format.
+ */
+class PrecompiledFormatSpecificationsTest_Sample_FormattedSourceFormats implements PrecompiledFormats {
+
+    @Override
+    public List<PrecompiledFormat> formats() {
+        return List.of(new PrecompiledFormat() {
+            @Override
+            public String format() {
+                return "{1} = {0}";
+            }
+
+            @Override
+            public String argumentPlaceholder() {
+                return "";
+            }
+
+            @Override
+            public List<String> literals() {
+                return List.of("", " = ", "");
+            }
+
+            @Override
+            public List<Integer> argumentsOrder() {
+                return List.of(1, 0);
+            }
+
+            @Override
+            public boolean match(String line, int[] bounds) {
+                int start = line.lastIndexOf(" = ");
+                if (start < 0) {
+                    return false;
+                }
+                bounds[0] = start + 3;
+                bounds[1] = line.length();
+                bounds[2] = 0;
+                bounds[3] = start;
+                return true;
+            }
+        });
+    }
+
+}
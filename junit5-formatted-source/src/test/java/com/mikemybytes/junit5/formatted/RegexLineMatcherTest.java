@@ -0,0 +1,59 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexLineMatcherTest {
+
+    private final IndexedArgumentPlaceholdersFormatAnalyzer analyzer = new IndexedArgumentPlaceholdersFormatAnalyzer();
+
+    @Test
+    void matchesWithinBudget() {
+        // given
+        FormatSpecification specification = analyzer.analyze("{0} costs {1:int}", 2);
+        int[] bounds = new int[4];
+        // when
+        boolean matches = specification.getLineMatcher().match("tea costs 3", bounds, 1_000);
+        // then
+        assertTrue(matches);
+        assertArrayEquals(new int[]{0, 3, 10, 11}, bounds);
+    }
+
+    @Test
+    void failsFastWhenBudgetIsExceeded() {
+        // given
+        FormatSpecification specification = analyzer.analyze("{0} {1} {2} {3}:{4:int}", 5);
+        String line = "a ".repeat(3_000);
+        // when
+        var exception = assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> assertThrows(
+                        IllegalArgumentException.class,
+                        () -> specification.getLineMatcher().match(line, new int[10], 100_000)
+                )
+        );
+        // then
+        assertEquals(
+                "Matching the line exceeded the budget of 100000 steps: " + line.substring(0, 120)
+                        + "... (6000 characters)",
+                exception.getMessage()
+        );
+    }
+
+    @Test
+    void keepsMatchingAfterBudgetIsExceeded() {
+        // given
+        LineMatcher matcher = analyzer.analyze("{0} {1}:{2:int}", 3).getLineMatcher();
+        int[] bounds = new int[6];
+        assertThrows(IllegalArgumentException.class, () -> matcher.match("a b c d e f g h i j k l", bounds, 50));
+        // when
+        boolean matches = matcher.match("a b:1", bounds, 50);
+        // then
+        assertTrue(matches);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, bounds);
+    }
+
+}
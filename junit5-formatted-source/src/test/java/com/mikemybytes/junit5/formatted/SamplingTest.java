@@ -0,0 +1,102 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.opentest4j.TestAbortedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTest {
+
+    private final List<String> lines = IntStream.range(0, 10_000)
+            .mapToObj(i -> i + " * 2 = " + (2 * i))
+            .collect(Collectors.toList());
+
+    @Test
+    void keepsRoughlyGivenPercentageOfLines() {
+        // given
+        var sampling = new Sampling(10, Integer.MAX_VALUE, 42);
+        // when
+        List<String> sample = sample(sampling);
+        // then
+        assertTrue(Math.abs(sample.size() - 1_000) < 150, () -> "Unexpected sample size: " + sample.size());
+        assertOriginalOrder(sample);
+    }
+
+    @Test
+    void keepsAtMostGivenNumberOfLines() {
+        // given
+        var sampling = new Sampling(100, 250, 42);
+        // when
+        List<String> sample = sample(sampling);
+        // then
+        assertEquals(250, sample.size());
+        assertOriginalOrder(sample);
+    }
+
+    @Test
+    void appliesRowLimitToPercentageSample() {
+        // given
+        var percentageOnly = new Sampling(10, Integer.MAX_VALUE, 42);
+        var limited = new Sampling(10, 100, 42);
+        // when
+        List<String> sample = sample(limited);
+        // then
+        assertEquals(100, sample.size());
+        assertTrue(sample(percentageOnly).containsAll(sample));
+    }
+
+    @Test
+    void givesSameSampleForTheSameSeed() {
+        assertEquals(sample(new Sampling(5, 100, 7)), sample(new Sampling(5, 100, 7)));
+        assertNotEquals(sample(new Sampling(5, 100, 7)), sample(new Sampling(5, 100, 8)));
+    }
+
+    @Test
+    void abortsWhenNothingHasBeenSampled() {
+        // given
+        List<String> singleLine = List.of("1 * 2 = 2");
+        var configuration = new FormattedSourceConfiguration(
+                key -> Optional.ofNullable(Map.of(FormattedSourceConfiguration.SAMPLING_PERCENTAGE, "1").get(key))
+        );
+        assertTrue(new Sampling(1, Integer.MAX_VALUE, 0).apply(singleLine.stream()).findAny().isEmpty());
+        // when
+        Stream<Arguments> arguments = ArgumentsStreamFactory.create(singleLine::stream, extractor(), configuration);
+        // then
+        var exception = assertThrows(TestAbortedException.class, () -> arguments.forEach(ignored -> { }));
+        assertEquals("No test cases selected by the sampling of 1.0%", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 10", "100.5, 10", "50, 0"})
+    void rejectsInvalidLimits(double percentage, int maxRows) {
+        assertThrows(IllegalArgumentException.class, () -> new Sampling(percentage, maxRows, 0));
+    }
+
+    private List<String> sample(Sampling sampling) {
+        return sampling.apply(lines.stream()).collect(Collectors.toList());
+    }
+
+    private static ArgumentsExtractor extractor() {
+        String format = "{0} * {1} = {2}";
+        var sourceData = new FormattedSourceData(format, new String[0], "", '\'', "", true, Set.of(), "");
+        FormatSpecification specification = new IndexedArgumentPlaceholdersFormatAnalyzer().analyze(format, 3);
+        return new ArgumentsExtractor(sourceData, specification, RawArgumentsProcessor.passThrough());
+    }
+
+    private void assertOriginalOrder(List<String> sample) {
+        List<Integer> positions = sample.stream().map(lines::indexOf).collect(Collectors.toList());
+        assertEquals(positions.stream().sorted().collect(Collectors.toList()), positions);
+    }
+
+}
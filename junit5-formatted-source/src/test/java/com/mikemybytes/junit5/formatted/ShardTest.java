@@ -0,0 +1,62 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    private final List<String> lines = IntStream.range(0, 10_000)
+            .mapToObj(i -> i + " + 1 = " + (i + 1))
+            .collect(Collectors.toList());
+
+    @Test
+    void splitsLinesIntoDisjointShardsOfSimilarSize() {
+        // given
+        Set<String> allLines = new HashSet<>();
+        // when
+        for (int index = 0; index < SHARD_COUNT; index++) {
+            var shard = new Shard(index, SHARD_COUNT);
+            List<String> shardLines = lines.stream().filter(shard::contains).collect(Collectors.toList());
+            // then
+            assertTrue(
+                    Math.abs(shardLines.size() - lines.size() / SHARD_COUNT) < lines.size() / 20,
+                    () -> "Unbalanced shard size: " + shardLines.size()
+            );
+            shardLines.forEach(line -> assertTrue(allLines.add(line), () -> "Line in multiple shards: " + line));
+        }
+        assertEquals(new HashSet<>(lines), allLines);
+    }
+
+    @Test
+    void keepsAssignmentStableWhenLinesAreAdded() {
+        // given
+        var shard = new Shard(1, SHARD_COUNT);
+        List<String> shardLines = lines.stream().filter(shard::contains).collect(Collectors.toList());
+        List<String> moreLines = new ArrayList<>(lines);
+        moreLines.addAll(0, List.of("-1 + 1 = 0", "-2 + 1 = -1"));
+        // when
+        List<String> newShardLines = moreLines.stream().filter(shard::contains).collect(Collectors.toList());
+        // then
+        newShardLines.removeIf(line -> line.startsWith("-"));
+        assertEquals(shardLines, newShardLines);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "-1, 2", "2, 2"})
+    void rejectsInvalidIndexOrCount(int index, int count) {
+        assertThrows(IllegalArgumentException.class, () -> new Shard(index, count));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedFormatsTest {
+
+    @Test
+    void findsDeclarationOfTheClass() {
+        Optional<FormattedSourceFormat> declaration = SharedFormats.findDeclaration(Declaring.class);
+        assertEquals("{0} -> {1}", declaration.map(FormattedSourceFormat::format).orElseThrow());
+    }
+
+    @Test
+    void findsDeclarationOfTheEnclosingClass() {
+        Optional<FormattedSourceFormat> declaration = SharedFormats.findDeclaration(Declaring.Inner.class);
+        assertEquals("{0} -> {1}", declaration.map(FormattedSourceFormat::format).orElseThrow());
+    }
+
+    @Test
+    void prefersTheClosestDeclaration() {
+        Optional<FormattedSourceFormat> declaration = SharedFormats.findDeclaration(Declaring.Overriding.class);
+        assertEquals("{0} => {1}", declaration.map(FormattedSourceFormat::format).orElseThrow());
+    }
+
+    @Test
+    void returnsEmptyWithoutDeclaration() {
+        assertTrue(SharedFormats.findDeclaration(SharedFormatsTest.class).isEmpty());
+    }
+
+    @Test
+    void usesOptionsOfTheDeclaration() {
+        // given
+        var sourceData = new FormattedSourceData("", new String[]{"a -> b"}, "", '\'', "", true, Set.of(), "");
+        FormattedSourceFormat declaration = SharedFormats.findDeclaration(Declaring.Overriding.class).orElseThrow();
+        // when
+        FormattedSourceData completed = sourceData.withFormat(declaration);
+        // then
+        assertEquals("{0} => {1}", completed.getFormatString());
+        assertEquals('"', completed.getQuoteCharacter());
+        assertEquals(Set.of("none"), completed.getNullValues());
+        assertEquals(List.of("a -> b"), completed.getLines().collect(Collectors.toList()));
+    }
+
+    @FormattedSourceFormat(format = "{0} -> {1}")
+    static class Declaring {
+
+        static class Inner {
+        }
+
+        @FormattedSourceFormat(format = "{0} => {1}", quoteCharacter = '"', nullValues = "none")
+        static class Overriding {
+        }
+
+    }
+
+}
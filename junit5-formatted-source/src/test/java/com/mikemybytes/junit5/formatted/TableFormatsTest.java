@@ -0,0 +1,136 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableFormatsTest {
+
+    private static final String MARKDOWN_TABLE = String.join("\n",
+            "| {1} | {0} | {2} |",
+            "|-----|:---:|----:|",
+            "| a   | b   | c   |",
+            "| --- | -   | d   |"
+    );
+
+    private static final String ASCII_TABLE = String.join("\n",
+            "+-----+-----+-----+",
+            "| {0} | {1} | {2} |",
+            "+=====+=====+=====+",
+            "| a   | b   | c   |",
+            "+-----+-----+-----+"
+    );
+
+    @Test
+    void skipsHeaderAndSeparatorRows() {
+        assertEquals(
+                List.of("| a   | b   | c   |", "| --- | -   | d   |"),
+                TableFormats.rows(MARKDOWN_TABLE.lines()).collect(Collectors.toList())
+        );
+        assertEquals(
+                List.of("| a   | b   | c   |"),
+                TableFormats.rows(ASCII_TABLE.lines()).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void keepsRowsStartingWithPlusSign() {
+        // given
+        var table = String.join("\n",
+                "+---+---+---+",
+                "{0} | {1} | {2}",
+                "+===+===+===+",
+                "+5 | 3 | +8",
+                "+ :-- +"
+        );
+        // when & then
+        assertEquals(List.of("+5 | 3 | +8"), TableFormats.rows(table.lines()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void mapsColumnsToArgumentIndexes() throws Exception {
+        // given
+        var sourceData = table(MARKDOWN_TABLE);
+        var extractor = new ArgumentsExtractor(
+                sourceData,
+                TableFormats.analyze(sourceData, method()),
+                RawArgumentsProcessor.passThrough()
+        );
+        // when
+        List<List<Object>> values = sourceData.getTestCaseLines()
+                .map(line -> List.of(extractor.extractValues(line)))
+                .collect(Collectors.toList());
+        // then
+        assertEquals(List.of(List.of("b", "a", "c"), List.of("-", "---", "d")), values);
+    }
+
+    @Test
+    void rejectsColumnsNotReferringToParameters() throws Exception {
+        // given
+        var sourceData = table("| {0} | x | {1} |\n| a | b | c |");
+        // when
+        var exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> TableFormats.analyze(sourceData, method())
+        );
+        // then
+        assertTrue(exception.getMessage().startsWith("Table column \"x\" does not refer to any parameter of sample"));
+    }
+
+    @Test
+    void requiresArgumentIndexesInBatchMode() throws Exception {
+        // given
+        var sourceData = new FormattedSourceData(
+                "", new String[0], "| a | b | c |\n| 1 | 2 | 3 |", '\'', "", true, Set.of(), "", 10, List.of(), true
+        );
+        // when
+        var exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> TableFormats.analyze(sourceData, method())
+        );
+        // then
+        assertEquals(
+                "Table column \"a\" does not refer to any argument of sample - in the batch mode, only the argument "
+                        + "indexes are supported as the column names (e.g. {0})",
+                exception.getMessage()
+        );
+    }
+
+    @Test
+    void rejectsMissingColumns() throws Exception {
+        // given
+        var sourceData = table("| {0} | {2} |\n| a | b |");
+        // when
+        var exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> TableFormats.analyze(sourceData, method())
+        );
+        // then
+        assertEquals(
+                "Table columns have to refer to the subsequent test method arguments: expected [0, 1] but got [0, 2]",
+                exception.getMessage()
+        );
+    }
+
+    private static FormattedSourceData table(String textBlock) {
+        return new FormattedSourceData(
+                "", new String[0], textBlock, '\'', "", true, Set.of(), "", 0, List.of(), true
+        );
+    }
+
+    private static Method method() throws NoSuchMethodException {
+        return TableFormatsTest.class.getDeclaredMethod("sample", String.class, String.class, String.class);
+    }
+
+    @SuppressWarnings("unused")
+    private static void sample(String a, String b, String c) {
+        // used only as the target of the table columns
+    }
+
+}
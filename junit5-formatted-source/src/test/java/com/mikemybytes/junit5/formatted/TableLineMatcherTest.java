@@ -0,0 +1,56 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableLineMatcherTest {
+
+    private final TableLineMatcher matcher = new TableLineMatcher(List.of(0, 1, 2), '\'');
+
+    @Test
+    void slicesRowsIntoCells() {
+        assertCells("| a | b | c |", "a", "b", "c");
+        assertCells("  |a|b|c|  ", "a", "b", "c");
+        assertCells("a | b | c", "a", "b", "c");
+        assertCells("| a | b | c", "a", "b", "c");
+        assertCells("|   | b |  |", "", "b", "");
+    }
+
+    @Test
+    void keepsDelimitersWithinQuotedValues() {
+        assertCells("| 'x|y' | b | c |", "'x|y'", "b", "c");
+        assertCells("| don't | won't | c |", "don't", "won't", "c");
+    }
+
+    @Test
+    void rejectsRowsWithDifferentNumberOfCells() {
+        assertFalse(matcher.match("| a | b |", new int[6]));
+        assertFalse(matcher.match("| a | b | c | d |", new int[6]));
+        assertFalse(matcher.match("| 'a | b' | c |", new int[6]));
+    }
+
+    @Test
+    void mapsColumnsToArguments() {
+        // given
+        var reversed = new TableLineMatcher(List.of(1, 0), '\'');
+        int[] bounds = new int[4];
+        // when
+        boolean matches = reversed.match("| a | b |", bounds);
+        // then
+        assertTrue(matches);
+        assertArrayEquals(new int[]{5, 8, 1, 4}, bounds);
+    }
+
+    private void assertCells(String row, String... expectedCells) {
+        int[] bounds = new int[6];
+        assertTrue(matcher.match(row, bounds), row);
+        for (int i = 0; i < expectedCells.length; i++) {
+            assertEquals(expectedCells[i], row.substring(bounds[2 * i], bounds[2 * i + 1]).strip(), row);
+        }
+        assertEquals(List.of(expectedCells), TableLineMatcher.cells(row, '\''));
+    }
+
+}
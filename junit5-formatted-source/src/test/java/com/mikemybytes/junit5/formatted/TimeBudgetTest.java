@@ -0,0 +1,45 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBudgetTest {
+
+    @Test
+    void skipsInvocationsStartedAfterExceedingTheBudget() {
+        // given
+        var clock = new AtomicLong();
+        var budget = new TimeBudget(Duration.ofNanos(100), clock::get);
+        // when
+        budget.onArgumentsEmitted();
+        clock.set(100);
+        budget.onArgumentsEmitted();
+        clock.set(101);
+        budget.onArgumentsEmitted();
+        budget.onArgumentsEmitted();
+        // then
+        assertFalse(budget.isExceededAt(1));
+        assertFalse(budget.isExceededAt(2));
+        assertTrue(budget.isExceededAt(3));
+        assertTrue(budget.isExceededAt(4));
+    }
+
+    @Test
+    void extractsInvocationIndexFromUniqueId() {
+        assertEquals(
+                Optional.of(12L),
+                TimeBudget.invocationIndex("[engine:junit-jupiter]/[class:a.SampleTest]/"
+                        + "[test-template:test(int)]/[test-template-invocation:#12]")
+        );
+        assertEquals(
+                Optional.empty(),
+                TimeBudget.invocationIndex("[engine:junit-jupiter]/[class:a.SampleTest]/[test-template:test(int)]")
+        );
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mikemybytes.junit5.formatted;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueInternerTest {
+
+    @Test
+    void reusesEqualValues() {
+        // given
+        var interner = new ValueInterner(16);
+        // when
+        String first = interner.intern("USD -> EUR", 0, 3);
+        String second = interner.intern("EUR -> USD", 7, 10);
+        String other = interner.intern("EUR -> USD", 0, 3);
+        // then
+        assertEquals("USD", first);
+        assertSame(first, second);
+        assertEquals("EUR", other);
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    void stopsInterningWhenFull() {
+        // given
+        var interner = new ValueInterner(2);
+        interner.intern("a;", 0, 1);
+        interner.intern("b;", 0, 1);
+        // when
+        String first = interner.intern("c;", 0, 1);
+        String second = interner.intern("c;", 0, 1);
+        // then
+        assertEquals("c", first);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    void doesNotInternLongValues() {
+        // given
+        var interner = new ValueInterner(16);
+        String value = "x".repeat(ValueInterner.MAX_VALUE_LENGTH + 1);
+        String line = value + ";";
+        // when
+        String first = interner.intern(line, 0, value.length());
+        String second = interner.intern(line, 0, value.length());
+        // then
+        assertEquals(value, first);
+        assertNotSame(first, second);
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ValueInterner(0));
+    }
+
+}